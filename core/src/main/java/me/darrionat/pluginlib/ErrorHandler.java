@@ -1,6 +1,10 @@
 package me.darrionat.pluginlib;
 
+import me.darrionat.pluginlib.commands.Argument;
+import me.darrionat.pluginlib.commands.CommandLimit;
 import me.darrionat.pluginlib.commands.SubCommand;
+import me.darrionat.pluginlib.utils.Duration;
+import me.darrionat.pluginlib.utils.Utils;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
@@ -34,4 +38,41 @@ public interface ErrorHandler {
      * @see SubCommand#getRequiredArgs()
      */
     void notEnoughArguments(SubCommand subCommand, CommandSender sender);
+
+    /**
+     * Ran when a {@link CommandSender} attempts to run an asynchronous {@link SubCommand} that is already running as
+     * many times as it allows, or when too many asynchronous commands are waiting to run.
+     *
+     * @param subCommand The command the sender ran.
+     * @param sender     The sender of the command.
+     * @see SubCommand#getMaxConcurrent()
+     */
+    default void commandBusy(SubCommand subCommand, CommandSender sender) {
+        sender.sendMessage(Utils.toColor("&cThat command is busy, please try again shortly."));
+    }
+
+    /**
+     * Ran when a {@link CommandSender} runs a {@link SubCommand} with a typed argument that could not be parsed.
+     *
+     * @param subCommand The command the sender ran.
+     * @param sender     The sender of the command.
+     * @param argument   The argument that could not be parsed.
+     * @param input      The text the sender gave for the argument.
+     * @see SubCommand#getArguments()
+     */
+    default void invalidArgument(SubCommand subCommand, CommandSender sender, Argument<?> argument, String input) {
+        sender.sendMessage(Utils.toColor("&cInvalid " + argument.getName() + ": &7") + input);
+    }
+
+    /**
+     * Ran when a {@link Player} runs a command more often than its cooldown or rate limit allows.
+     *
+     * @param sender          The sender of the command.
+     * @param remainingMillis The amount of milliseconds until the sender is able to run the command again.
+     * @see CommandLimit
+     */
+    default void onCooldown(CommandSender sender, long remainingMillis) {
+        String remaining = Duration.toDurationString(Math.max(1, Math.ceil(remainingMillis / 1000.0))).trim();
+        sender.sendMessage(Utils.toColor("&cPlease wait " + remaining + " before using that command again."));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,259 @@
+package me.darrionat.pluginlib.commands;
+
+import me.darrionat.pluginlib.utils.Duration;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Represents the specification of a single typed argument of a {@link SubCommand}.
+ * <p>
+ * Arguments are declared once by {@link SubCommand#getArguments()} and parsed on the main thread before the command
+ * is ran, so commands receive values instead of raw text. Arguments that fail to parse are reported through {@link
+ * me.darrionat.pluginlib.ErrorHandler#invalidArgument(SubCommand, org.bukkit.command.CommandSender, Argument,
+ * String)}. Each argument also provides its tab completions.
+ * <p>
+ * Arguments are immutable; {@link #optional()} and {@link #completes(CompletionProvider)} return modified copies.
+ *
+ * @param <T> The type of the parsed value.
+ */
+public final class Argument<T> {
+    private final String name;
+    private final ArgumentParser<T> parser;
+    /**
+     * Determines if the argument may be left out. Only trailing arguments should be optional.
+     */
+    private final boolean optional;
+    /**
+     * Determines if the argument consumes every remaining word, joined by spaces.
+     */
+    private final boolean greedy;
+    /**
+     * The provider of the tab completions of the argument; {@code null} if the argument is not completed.
+     */
+    private final CompletionProvider completions;
+
+    private Argument(String name, ArgumentParser<T> parser, boolean optional, boolean greedy,
+                     CompletionProvider completions) {
+        this.name = Objects.requireNonNull(name, "Name is null");
+        this.parser = Objects.requireNonNull(parser, "Parser is null");
+        this.optional = optional;
+        this.greedy = greedy;
+        this.completions = completions;
+    }
+
+    /**
+     * Creates an argument with a custom parser.
+     *
+     * @param name   The name of the argument, shown to senders when it is invalid.
+     * @param parser The parser of the argument.
+     * @param <T>    The type of the parsed value.
+     * @return The argument.
+     */
+    public static <T> Argument<T> of(String name, ArgumentParser<T> parser) {
+        return new Argument<>(name, parser, false, false, null);
+    }
+
+    /**
+     * Creates an argument of a single word.
+     *
+     * @param name The name of the argument.
+     * @return The argument.
+     */
+    public static Argument<String> word(String name) {
+        return of(name, input -> input);
+    }
+
+    /**
+     * Creates an argument that consumes every remaining word, such as a message. This must be the last argument.
+     *
+     * @param name The name of the argument.
+     * @return The argument.
+     */
+    public static Argument<String> text(String name) {
+        return new Argument<>(name, input -> input, false, true, null);
+    }
+
+    /**
+     * Creates an argument of a whole number.
+     *
+     * @param name The name of the argument.
+     * @return The argument.
+     */
+    public static Argument<Integer> integer(String name) {
+        return integer(name, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates an argument of a whole number within a range.
+     *
+     * @param name The name of the argument.
+     * @param min  The lowest valid value.
+     * @param max  The highest valid value.
+     * @return The argument.
+     */
+    public static Argument<Integer> integer(String name, int min, int max) {
+        return of(name, input -> {
+            try {
+                int value = Integer.parseInt(input);
+                return value < min || value > max ? null : value;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Creates an argument of a decimal number.
+     *
+     * @param name The name of the argument.
+     * @return The argument.
+     */
+    public static Argument<Double> decimal(String name) {
+        return of(name, input -> {
+            try {
+                double value = Double.parseDouble(input);
+                return Double.isFinite(value) ? value : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Creates an argument of a duration, such as {@code 30m}.
+     *
+     * @param name The name of the argument.
+     * @return The argument, whose value is the duration in seconds.
+     * @see Duration#parseDuration(String)
+     */
+    public static Argument<Double> duration(String name) {
+        return of(name, input -> {
+            // Two spaces in a row give an empty argument
+            if (input.isEmpty())
+                return null;
+            try {
+                double seconds = Duration.parseDuration(input);
+                return Double.isFinite(seconds) ? seconds : null;
+            } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Creates an argument of an online player, completed with the names of online players. The names are indexed once
+     * and only indexed again after players join or leave.
+     *
+     * @param name The name of the argument.
+     * @return The argument.
+     */
+    public static Argument<Player> player(String name) {
+        return new Argument<>(name, Bukkit::getPlayerExact, false, false,
+                (sender, args) -> NameCompletions.get().getPlayers());
+    }
+
+    /**
+     * Creates an argument of a loaded world, completed with the names of loaded worlds. The names are indexed once and
+     * only indexed again after worlds load or unload.
+     *
+     * @param name The name of the argument.
+     * @return The argument.
+     */
+    public static Argument<World> world(String name) {
+        return new Argument<>(name, Bukkit::getWorld, false, false,
+                (sender, args) -> NameCompletions.get().getWorlds());
+    }
+
+    /**
+     * Creates an argument of a constant of an enum, ignoring case and completed with every constant.
+     *
+     * @param name The name of the argument.
+     * @param type The class of the enum.
+     * @param <E>  The type of the enum.
+     * @return The argument.
+     */
+    public static <E extends Enum<E>> Argument<E> choice(String name, Class<E> type) {
+        List<String> constants = new ArrayList<>();
+        for (E constant : type.getEnumConstants())
+            constants.add(constant.name().toLowerCase(Locale.ROOT));
+        CompletionIndex index = CompletionIndex.of(constants);
+        return new Argument<>(name, input -> {
+            try {
+                return Enum.valueOf(type, input.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }, false, false, CompletionProvider.of(index));
+    }
+
+    /**
+     * Creates a copy of this argument that may be left out. Only trailing arguments should be optional.
+     *
+     * @return The optional argument.
+     */
+    public Argument<T> optional() {
+        return new Argument<>(name, parser, true, greedy, completions);
+    }
+
+    /**
+     * Creates a copy of this argument with different tab completions.
+     *
+     * @param completions The provider of the tab completions.
+     * @return The argument with the given completions.
+     */
+    public Argument<T> completes(CompletionProvider completions) {
+        return new Argument<>(name, parser, optional, greedy, completions);
+    }
+
+    /**
+     * Gets the name of the argument.
+     *
+     * @return The name of the argument.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Determines if the argument may be left out.
+     *
+     * @return Returns {@code true} if the argument is optional; {@code false} otherwise.
+     */
+    public boolean isOptional() {
+        return optional;
+    }
+
+    /**
+     * Determines if the argument consumes every remaining word.
+     *
+     * @return Returns {@code true} if the argument is greedy; {@code false} otherwise.
+     */
+    public boolean isGreedy() {
+        return greedy;
+    }
+
+    /**
+     * Gets the provider of the tab completions of the argument.
+     *
+     * @return The provider of the completions; {@code null} if the argument is not completed.
+     */
+    public CompletionProvider getCompletions() {
+        return completions;
+    }
+
+    /**
+     * Parses the text of the argument.
+     *
+     * @param input The text typed by the sender.
+     * @return The parsed value; {@code null} if the text is not valid.
+     */
+    public T parse(String input) {
+        return parser.parse(input);
+    }
+}
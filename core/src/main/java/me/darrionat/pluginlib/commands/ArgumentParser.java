@@ -0,0 +1,17 @@
+package me.darrionat.pluginlib.commands;
+
+/**
+ * Parses the text of a single {@link Argument} into a value.
+ *
+ * @param <T> The type of the parsed value.
+ */
+@FunctionalInterface
+public interface ArgumentParser<T> {
+    /**
+     * Parses the text of an argument.
+     *
+     * @param input The text typed by the sender.
+     * @return The parsed value; {@code null} if the text is not valid.
+     */
+    T parse(String input);
+}
@@ -0,0 +1,183 @@
+package me.darrionat.pluginlib.commands;
+
+import me.darrionat.pluginlib.Plugin;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Runs asynchronous {@link SubCommand}s of a {@link Plugin} on a bounded pool of worker threads.
+ * <p>
+ * The pool has a fixed amount of daemon threads and a bounded queue, so a burst of slow commands cannot create an
+ * unbounded amount of threads or work. Commands ran by a player are interrupted when the player leaves. The pool is
+ * shut down when its plugin is disabled.
+ *
+ * @see SubCommand#async()
+ */
+public class AsyncCommandExecutor implements Listener {
+    /**
+     * The maximum amount of commands waiting for a worker.
+     */
+    private static final int QUEUE_CAPACITY = 256;
+    private static AsyncCommandExecutor instance;
+
+    private final Plugin plugin;
+    private final ThreadPoolExecutor pool;
+    /**
+     * The commands currently queued or running for each player.
+     */
+    private final Map<UUID, Set<FutureTask<?>>> running = new ConcurrentHashMap<>();
+
+    private AsyncCommandExecutor(Plugin plugin) {
+        this.plugin = plugin;
+        int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger count = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+            Thread thread = new Thread(runnable, plugin.getName() + " Command Worker #" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Gets the command executor of a plugin.
+     *
+     * @param plugin The plugin running the commands.
+     * @return The executor of the plugin.
+     */
+    public static AsyncCommandExecutor get(Plugin plugin) {
+        if (instance == null || instance.plugin != plugin)
+            instance = new AsyncCommandExecutor(plugin);
+        return instance;
+    }
+
+    /**
+     * Runs a command on a worker thread.
+     *
+     * @param sender   The sender of the command.
+     * @param command  The body of the command.
+     * @param finished Ran exactly once, from any thread: when the body of the command has returned, or when the command
+     *                 was cancelled before it started. A command interrupted while running is only finished once its
+     *                 body returns.
+     * @throws RejectedExecutionException Thrown when too many commands are already waiting for a worker.
+     */
+    public void execute(CommandSender sender, Runnable command, Runnable finished) {
+        UUID id = sender instanceof Player p ? p.getUniqueId() : null;
+        // Claimed by whichever of the body or a cancellation comes first, so finished is only ran once
+        AtomicBoolean started = new AtomicBoolean();
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            if (!started.compareAndSet(false, true))
+                return;
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                plugin.getLogger().log(Level.WARNING, "An asynchronous command threw an exception", e);
+            } finally {
+                finished.run();
+            }
+        }, null) {
+            @Override
+            protected void done() {
+                if (id != null)
+                    untrack(id, this);
+                // Cancelling a running command completes the task while its body may still be running
+                if (started.compareAndSet(false, true))
+                    finished.run();
+            }
+        };
+        // The set is created and added to atomically, so that it cannot be removed for being empty in between
+        if (id != null)
+            running.compute(id, (key, tasks) -> {
+                if (tasks == null)
+                    tasks = ConcurrentHashMap.newKeySet();
+                tasks.add(task);
+                return tasks;
+            });
+        try {
+            pool.execute(task);
+        } catch (RejectedExecutionException e) {
+            if (id != null)
+                untrack(id, task);
+            throw e;
+        }
+    }
+
+    /**
+     * Stops keeping track of a command of a player, discarding the commands of the player once none are left.
+     *
+     * @param id   The unique id of the player.
+     * @param task The command that is no longer queued or running.
+     */
+    private void untrack(UUID id, FutureTask<?> task) {
+        running.computeIfPresent(id, (key, tasks) -> {
+            tasks.remove(task);
+            return tasks.isEmpty() ? null : tasks;
+        });
+    }
+
+    /**
+     * Interrupts every command ran by a player who leaves the server.
+     *
+     * @param e The Event that is passed.
+     */
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent e) {
+        Set<FutureTask<?>> tasks = running.remove(e.getPlayer().getUniqueId());
+        if (tasks != null)
+            tasks.forEach(task -> task.cancel(true));
+    }
+
+    /**
+     * Shuts down the executor once its plugin is disabled.
+     *
+     * @param e The Event that is passed.
+     */
+    @EventHandler
+    public void onPluginDisable(PluginDisableEvent e) {
+        if (e.getPlugin() == plugin)
+            shutdown();
+    }
+
+    /**
+     * Gets the amount of commands currently running.
+     *
+     * @return The amount of busy workers.
+     */
+    public int getActiveCount() {
+        return pool.getActiveCount();
+    }
+
+    /**
+     * Stops accepting commands and interrupts the commands that are running. Commands still waiting for a worker are
+     * cancelled. This is ran automatically when the plugin is disabled.
+     */
+    public void shutdown() {
+        HandlerList.unregisterAll(this);
+        for (Runnable queued : pool.shutdownNow())
+            ((FutureTask<?>) queued).cancel(false);
+        running.clear();
+        if (instance == this)
+            instance = null;
+    }
+}
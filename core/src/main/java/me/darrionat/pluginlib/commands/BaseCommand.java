@@ -2,24 +2,65 @@ package me.darrionat.pluginlib.commands;
 
 import me.darrionat.pluginlib.ErrorHandler;
 import me.darrionat.pluginlib.Plugin;
+import me.darrionat.pluginlib.commands.CommandMetrics.Rejection;
+import me.darrionat.pluginlib.utils.LatencyHistogram;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.PluginCommand;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The {@link BaseCommand} class represents a registered {@link PluginCommand}.
  */
 public abstract class BaseCommand implements CommandExecutor, HeritableCommand {
+    /**
+     * The default amount of milliseconds a command may take before it is logged as slow, equal to a server tick.
+     */
+    private static final long DEFAULT_SLOW_THRESHOLD = 50;
+
+    private final Plugin plugin;
     private final ErrorHandler errorHandler;
     private final String permission;
-    //    private final List<SubCommand> subCommands = new ArrayList<>();
+    private final PermissionCache permissionCache;
+    /**
+     * The id of {@link #permission} within the {@link PermissionCache}.
+     */
+    private final int permissionId;
     private final Map<String, SubCommand> subCommandMap = new HashMap<>();
+    /**
+     * The subcommands keyed by their labels and aliases, used for dispatching.
+     */
+    private final CommandTrie<SubCommand> subCommandTrie = new CommandTrie<>();
+    /**
+     * The subcommands whose aliases have not been added to {@link #subCommandTrie} yet. Aliases are only read once the
+     * subcommands are first looked up, since subcommands are added while they are still being constructed.
+     */
+    private final List<SubCommand> pendingAliases = new ArrayList<>();
+    /**
+     * The index of the names of the subcommands, used for tab completion; {@code null} until first needed.
+     */
+    private CompletionIndex subCommandIndex;
+    /**
+     * The cooldown or rate limit of this command; {@code null} if the command is not limited.
+     */
+    private CommandLimit limit;
+    /**
+     * The performance metrics of this command.
+     */
+    private final CommandMetrics metrics = new CommandMetrics();
+    /**
+     * The amount of nanoseconds a command of this tree may take before it is logged as slow.
+     */
+    private volatile long slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SLOW_THRESHOLD);
 
     /**
      * Creates and registers a new {@link BaseCommand} object.
@@ -27,8 +68,11 @@ public abstract class BaseCommand implements CommandExecutor, HeritableCommand {
      * @param plugin The {@link Plugin} that the command will be registered to.
      */
     public BaseCommand(Plugin plugin) {
+        this.plugin = plugin;
         this.errorHandler = plugin.getErrorHandler();
         this.permission = getCommandLabel() + ".use";
+        this.permissionCache = PermissionCache.get(plugin);
+        this.permissionId = permissionCache.getNodeId(permission);
         PluginCommand command = plugin.getCommand(getCommandLabel());
         command.setExecutor(this);
         command.setTabCompleter(new CommandTabCompleter(this));
@@ -38,37 +82,156 @@ public abstract class BaseCommand implements CommandExecutor, HeritableCommand {
      * {@inheritDoc}
      */
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        metrics.recordInvocation();
         // Permission
         if (sender instanceof Player p) {
             if (!playerHasPermission(p)) {
+                metrics.recordRejection(Rejection.NO_PERMISSION);
                 errorHandler.noPermissionError(p, permission);
                 return true;
             }
         }
 
+        // Cooldown
+        if (limit != null && sender instanceof Player p) {
+            long remaining = limit.tryAcquire(p.getUniqueId());
+            if (remaining > 0) {
+                metrics.recordRejection(Rejection.COOLDOWN);
+                errorHandler.onCooldown(sender, remaining);
+                return true;
+            }
+        }
+
+        long start = System.nanoTime();
+        boolean ranSubCommand = dispatch(sender, command, label, args);
+        long took = System.nanoTime() - start;
+        metrics.getExecutionTime().record(took);
+        // Subcommands log themselves
+        if (!ranSubCommand && took > slowThresholdNanos)
+            logSlowCommand(sender, "/" + label + " " + String.join(" ", args), took, false);
+        return true;
+    }
+
+    /**
+     * Runs the {@link SubCommand} named by the arguments, or {@link #runNoArgs(CommandSender, Command, String,
+     * String[])} if there is none. A nested subcommand is only ran if the sender passes the permission and player
+     * checks of every subcommand above it.
+     *
+     * @param sender  the sender of the command
+     * @param command the command that was ran
+     * @param label   the label of the command
+     * @param args    the arguments that were used
+     * @return Returns {@code true} if a subcommand was ran or rejected; {@code false} otherwise.
+     */
+    private boolean dispatch(CommandSender sender, Command command, String label, String[] args) {
         // Subcommands
         if (args.length == 0) {
             runNoArgs(sender, command, label, args);
-            return true;
+            return false;
         }
 
-        if (subCommandMap.containsKey(args[0])) {
-            subCommandMap.get(args[0]).run(sender, args);
-        } else {
+        SubCommand subCommand = getSubCommand(args[0]);
+        if (subCommand == null) {
             // No suitable subcommand
             runNoArgs(sender, command, label, args);
+            return false;
+        }
+        // Walk down the tree while the arguments name nested subcommands
+        int depth = 1;
+        SubCommand child;
+        while (depth < args.length && (child = subCommand.getSubCommand(args[depth])) != null) {
+            // Every subcommand passed through must allow the sender as well
+            if (!subCommand.checkTraversal(sender))
+                return true;
+            subCommand = child;
+            depth++;
         }
+        subCommand.run(sender, depth == 1 ? args : Arrays.copyOfRange(args, depth - 1, args.length));
         return true;
     }
 
     /**
-     * Checks whether or not the player has permission for this command.
+     * Checks whether or not the player has permission for this command. The decision is cached by the {@link
+     * PermissionCache} of the plugin.
      *
      * @param p The player.
      * @return Returns {@code true} if the player has permission to use this command, {@code false} otherwise.
      */
     public boolean playerHasPermission(Player p) {
-        return p.hasPermission(permission);
+        return permissionCache.hasPermission(p, permissionId, permission);
+    }
+
+    /**
+     * Sets the cooldown or rate limit of the {@link BaseCommand}, which applies to every use of the command including
+     * its {@link SubCommand}s. Players who run the command too often are told how long to wait instead of the command
+     * being ran.
+     *
+     * @param limit The limit of the command; {@code null} to remove the limit.
+     * @see ErrorHandler#onCooldown(CommandSender, long)
+     */
+    public void setLimit(CommandLimit limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Gets the cooldown or rate limit of the {@link BaseCommand}.
+     *
+     * @return Returns the limit of the command; {@code null} if the command is not limited.
+     */
+    public CommandLimit getLimit() {
+        return limit;
+    }
+
+    /**
+     * Gets the performance metrics of the {@link BaseCommand}. The execution time includes running any of its {@link
+     * SubCommand}s on the main thread.
+     *
+     * @return The metrics of the command.
+     */
+    public CommandMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the amount of milliseconds this command or any of its {@link SubCommand}s may take before it is logged as
+     * slow, along with its sender and arguments. Set to {@code 50} by default.
+     *
+     * @param millis The slow command threshold in milliseconds.
+     */
+    public void setSlowThreshold(long millis) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+    }
+
+    /**
+     * Gets the amount of milliseconds this command or any of its {@link SubCommand}s may take before it is logged as
+     * slow.
+     *
+     * @return The slow command threshold in milliseconds.
+     */
+    public long getSlowThreshold() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    /**
+     * Gets the slow command threshold in nanoseconds.
+     *
+     * @return The slow command threshold in nanoseconds.
+     */
+    long getSlowThresholdNanos() {
+        return slowThresholdNanos;
+    }
+
+    /**
+     * Logs a command that took longer than the slow command threshold.
+     *
+     * @param sender  The sender of the command.
+     * @param command The command as typed by the sender.
+     * @param nanos   The amount of nanoseconds the command took.
+     * @param async   Determines if the command was ran on a worker thread.
+     */
+    void logSlowCommand(CommandSender sender, String command, long nanos, boolean async) {
+        plugin.getLogger().warning("Slow command " + command.trim() + " ran by " + sender.getName() + " took "
+                + LatencyHistogram.toMillis(nanos) + (async ? " on a worker thread" : ""));
     }
 
     /**
@@ -78,15 +241,42 @@ public abstract class BaseCommand implements CommandExecutor, HeritableCommand {
         return subCommandMap.keySet();
     }
 
-    public SubCommand getSubCommand(String name) {
-        return subCommandMap.get(name);
+    /**
+     * {@inheritDoc}
+     */
+    public SubCommand getSubCommand(String label) {
+        if (!pendingAliases.isEmpty())
+            addPendingAliases();
+        return subCommandTrie.get(label);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public CompletionIndex getSubCommandIndex() {
+        if (subCommandIndex == null)
+            subCommandIndex = CompletionIndex.of(getSubCommands());
+        return subCommandIndex;
     }
 
     /**
      * {@inheritDoc}
      */
     public void addSubCommand(SubCommand subCommand) {
+        subCommandIndex = null;
         subCommandMap.put(subCommand.getSubCommand(), subCommand);
+        subCommandTrie.put(subCommand.getSubCommand(), subCommand);
+        pendingAliases.add(subCommand);
+    }
+
+    /**
+     * Adds the aliases of every subcommand added since the subcommands were last looked up.
+     */
+    private void addPendingAliases() {
+        for (SubCommand subCommand : pendingAliases)
+            for (String alias : subCommand.getAliases())
+                subCommandTrie.put(alias, subCommand);
+        pendingAliases.clear();
     }
 
     /**
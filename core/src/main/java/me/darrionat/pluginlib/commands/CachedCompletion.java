@@ -0,0 +1,78 @@
+package me.darrionat.pluginlib.commands;
+
+import me.darrionat.pluginlib.Plugin;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * Represents a {@link CompletionProvider} whose candidates are loaded asynchronously, such as from a database.
+ * <p>
+ * Completions are always answered from the most recently loaded index, so tab completion never waits on the loader.
+ * Once the index is older than the refresh interval, the next completion begins loading a new index off the main
+ * thread. Until the first load completes, nothing is completed.
+ */
+public class CachedCompletion implements CompletionProvider {
+    private final Plugin plugin;
+    /**
+     * Loads the candidates. This is never ran on the main thread.
+     */
+    private final Supplier<? extends Collection<String>> loader;
+    /**
+     * The amount of nanoseconds an index is used for before it is loaded again.
+     */
+    private final long refreshNanos;
+    /**
+     * Determines if a load is currently running.
+     */
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private volatile CompletionIndex index = CompletionIndex.EMPTY;
+    /**
+     * The time the index was last loaded, as given by {@link System#nanoTime()}.
+     */
+    private volatile long loadedAt;
+    private volatile boolean loaded = false;
+
+    /**
+     * Creates a new {@code CachedCompletion}.
+     *
+     * @param plugin        The plugin that loads the candidates.
+     * @param loader        Loads the candidates. This is never ran on the main thread.
+     * @param refreshMillis The amount of milliseconds the candidates are used for before they are loaded again.
+     */
+    public CachedCompletion(Plugin plugin, Supplier<? extends Collection<String>> loader, long refreshMillis) {
+        this.plugin = plugin;
+        this.loader = loader;
+        this.refreshNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, refreshMillis));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletionIndex getCompletions(CommandSender sender, String[] args) {
+        if ((!loaded || System.nanoTime() - loadedAt > refreshNanos) && loading.compareAndSet(false, true))
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, this::load);
+        return index;
+    }
+
+    /**
+     * Loads a new index of candidates.
+     */
+    private void load() {
+        try {
+            index = CompletionIndex.of(loader.get());
+            loadedAt = System.nanoTime();
+            loaded = true;
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to load tab completions", e);
+        } finally {
+            loading.set(false);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package me.darrionat.pluginlib.commands;
+
+import java.util.Arrays;
+
+/**
+ * Represents the parsed values of the {@link Argument}s of a {@link SubCommand}.
+ *
+ * @see SubCommand#getArguments()
+ */
+public final class CommandArguments {
+    /**
+     * The declared arguments, in order.
+     */
+    private final Argument<?>[] arguments;
+    /**
+     * The parsed value of each argument; {@code null} for optional arguments that were left out.
+     */
+    private final Object[] values;
+    /**
+     * The raw arguments of the command.
+     */
+    private final String[] raw;
+
+    /**
+     * Creates a new {@code CommandArguments}.
+     *
+     * @param arguments The declared arguments, in order.
+     * @param values    The parsed value of each argument.
+     * @param raw       The raw arguments of the command.
+     */
+    CommandArguments(Argument<?>[] arguments, Object[] values, String[] raw) {
+        this.arguments = arguments;
+        this.values = values;
+        this.raw = raw;
+    }
+
+    /**
+     * Gets the parsed value of an argument.
+     *
+     * @param argument The argument, as declared by the subcommand.
+     * @param <T>      The type of the value.
+     * @return The value of the argument; {@code null} if the argument is optional and was left out.
+     * @throws IllegalArgumentException Thrown when the argument was not declared by the subcommand.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Argument<T> argument) {
+        for (int i = 0; i < arguments.length; i++)
+            if (arguments[i] == argument)
+                return (T) values[i];
+        throw new IllegalArgumentException("Argument " + argument.getName() + " was not declared");
+    }
+
+    /**
+     * Gets the parsed value of an argument by its position.
+     *
+     * @param index The position of the argument within the declared arguments, starting at {@code 0}.
+     * @return The value of the argument; {@code null} if the argument is optional and was left out.
+     */
+    public Object get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Determines if an argument was given.
+     *
+     * @param argument The argument, as declared by the subcommand.
+     * @return Returns {@code true} if the argument has a value; {@code false} if it was left out.
+     */
+    public boolean has(Argument<?> argument) {
+        return get(argument) != null;
+    }
+
+    /**
+     * Gets the raw arguments of the command, where the first item is the label of the subcommand.
+     *
+     * @return A copy of the raw arguments.
+     */
+    public String[] getRaw() {
+        return Arrays.copyOf(raw, raw.length);
+    }
+}
@@ -0,0 +1,164 @@
+package me.darrionat.pluginlib.commands;
+
+import me.darrionat.pluginlib.utils.TimingWheel;
+
+import java.util.UUID;
+
+/**
+ * Represents a cooldown or rate limit of a {@link BaseCommand} or {@link SubCommand}, applied to each {@link
+ * org.bukkit.entity.Player} separately. Other senders, such as the console, are never limited.
+ * <p>
+ * Limits use the generic cell rate algorithm: the only state of a player is the time their next use is due, stored in a
+ * primitive map keyed by the bits of their {@link UUID}. Checking a use is a single lookup. Each player is scheduled
+ * within a {@link TimingWheel} once and removed when their limit has fully recovered, so the memory used is
+ * proportional to the amount of players currently limited.
+ * <p>
+ * Limits should only be used on the main thread.
+ *
+ * @see BaseCommand#setLimit(CommandLimit)
+ * @see SubCommand#setLimit(CommandLimit)
+ */
+public final class CommandLimit {
+    /**
+     * The length of a tick of the timing wheel in milliseconds, equal to a server tick.
+     */
+    private static final long TICK_MILLIS = 50;
+
+    /**
+     * The amount of milliseconds that each use adds to the time a player is limited.
+     */
+    private final long interval;
+    /**
+     * The amount of milliseconds a player may run ahead of their limit, allowing bursts of uses.
+     */
+    private final long tolerance;
+    /**
+     * The time, as given by {@link System#nanoTime()}, that the clock of the limit started.
+     */
+    private final long origin = System.nanoTime();
+    /**
+     * The time the next use of each player is due, in milliseconds of the clock of the limit.
+     */
+    private final UuidLongMap due = new UuidLongMap();
+    private final TimingWheel wheel = new TimingWheel(TICK_MILLIS, 0);
+    private final TimingWheel.Expiry expiry = this::expire;
+    /**
+     * The current time of the clock while the wheel is advanced.
+     */
+    private long now;
+
+    private CommandLimit(long interval, int burst) {
+        if (interval <= 0)
+            throw new IllegalArgumentException("The interval of a limit must be positive");
+        if (burst < 1)
+            throw new IllegalArgumentException("A limit must allow at least one use");
+        this.interval = interval;
+        this.tolerance = interval * (burst - 1);
+    }
+
+    /**
+     * Creates a limit that allows a single use per cooldown.
+     *
+     * @param millis The cooldown between uses in milliseconds.
+     * @return The limit.
+     */
+    public static CommandLimit cooldown(long millis) {
+        return new CommandLimit(millis, 1);
+    }
+
+    /**
+     * Creates a limit that allows an amount of uses per period. The uses are able to be made all at once, after which
+     * a use recovers every {@code periodMillis / permits} milliseconds.
+     *
+     * @param permits      The amount of uses allowed per period.
+     * @param periodMillis The length of the period in milliseconds.
+     * @return The limit.
+     */
+    public static CommandLimit rate(int permits, long periodMillis) {
+        return new CommandLimit(Math.max(1, periodMillis / Math.max(1, permits)), permits);
+    }
+
+    /**
+     * Attempts to use the limit for a player.
+     *
+     * @param id The unique id of the player.
+     * @return Returns {@code 0} if the use is allowed; otherwise, the amount of milliseconds until it would be allowed.
+     */
+    public long tryAcquire(UUID id) {
+        long now = advance();
+        long high = id.getMostSignificantBits();
+        long low = id.getLeastSignificantBits();
+        long next = due.get(high, low);
+        if (next == UuidLongMap.MISSING || next < now)
+            next = now;
+        long wait = next - tolerance - now;
+        if (wait > 0)
+            return wait;
+        if (due.put(high, low, next + interval))
+            wheel.schedule(next + interval, high, low);
+        return 0;
+    }
+
+    /**
+     * Gets the amount of milliseconds until a player is able to use the limit.
+     *
+     * @param id The unique id of the player.
+     * @return The amount of milliseconds to wait; {@code 0} if the player is able to use the limit now.
+     */
+    public long getRemaining(UUID id) {
+        long now = advance();
+        long next = due.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        return next == UuidLongMap.MISSING ? 0 : Math.max(0, next - tolerance - now);
+    }
+
+    /**
+     * Fully recovers the limit of a player.
+     *
+     * @param id The unique id of the player.
+     */
+    public void reset(UUID id) {
+        long now = advance();
+        long high = id.getMostSignificantBits();
+        long low = id.getLeastSignificantBits();
+        // The scheduled expiry removes the player
+        if (due.get(high, low) != UuidLongMap.MISSING)
+            due.put(high, low, now);
+    }
+
+    /**
+     * Gets the amount of players currently limited.
+     *
+     * @return The amount of players whose limit has not fully recovered.
+     */
+    public int size() {
+        advance();
+        return due.size();
+    }
+
+    /**
+     * Advances the clock of the limit, removing the players whose limit has fully recovered.
+     *
+     * @return The current time of the clock in milliseconds.
+     */
+    private long advance() {
+        now = (System.nanoTime() - origin) / 1_000_000L;
+        wheel.advance(now, expiry);
+        return now;
+    }
+
+    /**
+     * Ran when a player scheduled within the wheel is due, removing them if their limit has fully recovered.
+     *
+     * @param high The most significant bits of the unique id of the player.
+     * @param low  The least significant bits of the unique id of the player.
+     */
+    private void expire(long high, long low) {
+        long next = due.get(high, low);
+        if (next == UuidLongMap.MISSING)
+            return;
+        if (next <= now)
+            due.remove(high, low);
+        else
+            wheel.schedule(next, high, low);
+    }
+}
@@ -0,0 +1,127 @@
+package me.darrionat.pluginlib.commands;
+
+import me.darrionat.pluginlib.utils.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents the performance of a single {@link BaseCommand} or {@link SubCommand}.
+ * <p>
+ * Every command records how often it is ran, how often it is rejected and why, and how long it takes to execute.
+ * Recording is lock-free, so metrics are always collected.
+ *
+ * @see BaseCommand#getMetrics()
+ * @see SubCommand#getMetrics()
+ */
+public final class CommandMetrics {
+    private final LatencyHistogram executionTime = new LatencyHistogram();
+    private final LongAdder invocations = new LongAdder();
+    /**
+     * The amount of rejections of each {@link Rejection}, indexed by ordinal.
+     */
+    private final LongAdder[] rejections = new LongAdder[Rejection.values().length];
+
+    /**
+     * Creates a new {@code CommandMetrics}.
+     */
+    CommandMetrics() {
+        for (int i = 0; i < rejections.length; i++)
+            rejections[i] = new LongAdder();
+    }
+
+    /**
+     * Gets the time it takes to execute the command, excluding commands that were rejected.
+     *
+     * @return The histogram of execution durations.
+     */
+    public LatencyHistogram getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Records that the command was ran by a sender.
+     */
+    void recordInvocation() {
+        invocations.increment();
+    }
+
+    /**
+     * Gets the amount of times the command was ran since the metrics were last reset, including rejected commands.
+     *
+     * @return The amount of invocations.
+     */
+    public long getInvocations() {
+        return invocations.sum();
+    }
+
+    /**
+     * Records that the command was rejected.
+     *
+     * @param reason The reason the command was rejected.
+     */
+    void recordRejection(Rejection reason) {
+        rejections[reason.ordinal()].increment();
+    }
+
+    /**
+     * Gets the amount of times the command was rejected for a reason since the metrics were last reset.
+     *
+     * @param reason The reason of the rejections.
+     * @return The amount of rejections.
+     */
+    public long getRejections(Rejection reason) {
+        return rejections[reason.ordinal()].sum();
+    }
+
+    /**
+     * Gets the amount of times the command was rejected for any reason since the metrics were last reset.
+     *
+     * @return The amount of rejections.
+     */
+    public long getRejections() {
+        long total = 0;
+        for (LongAdder rejection : rejections)
+            total += rejection.sum();
+        return total;
+    }
+
+    /**
+     * Discards every recorded metric.
+     */
+    public void reset() {
+        executionTime.reset();
+        invocations.reset();
+        for (LongAdder rejection : rejections)
+            rejection.reset();
+    }
+
+    /**
+     * Represents the reason a command was not executed.
+     */
+    public enum Rejection {
+        /**
+         * The sender did not have the permission of the command.
+         */
+        NO_PERMISSION,
+        /**
+         * The sender did not provide enough arguments.
+         */
+        NOT_ENOUGH_ARGUMENTS,
+        /**
+         * The sender provided an argument that could not be parsed.
+         */
+        INVALID_ARGUMENT,
+        /**
+         * The sender was not a player and the command is only for players.
+         */
+        ONLY_PLAYERS,
+        /**
+         * The sender ran the command more often than its cooldown or rate limit allows.
+         */
+        COOLDOWN,
+        /**
+         * The command was already running as many times as it allows.
+         */
+        BUSY
+    }
+}
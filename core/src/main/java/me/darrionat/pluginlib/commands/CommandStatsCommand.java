@@ -0,0 +1,119 @@
+package me.darrionat.pluginlib.commands;
+
+import me.darrionat.pluginlib.Plugin;
+import me.darrionat.pluginlib.commands.CommandMetrics.Rejection;
+import me.darrionat.pluginlib.utils.Utils;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Represents a {@link SubCommand} that shows the {@link CommandMetrics} of its {@link BaseCommand} and every {@link
+ * SubCommand} of the base command.
+ * <p>
+ * Subcommands are listed with the slowest to execute first. Running the command with {@code reset} discards every
+ * metric. Plugins are able to attach the command to any of their {@link BaseCommand}s, requiring the permission {@code
+ * <label>.cmdstats}.
+ */
+public class CommandStatsCommand extends SubCommand {
+    /**
+     * Creates a new {@link CommandStatsCommand} and adds it to the {@link BaseCommand}'s subcommands.
+     *
+     * @param parentCommand The parent command.
+     * @param plugin        The plugin that the subcommand belongs to.
+     */
+    public CommandStatsCommand(BaseCommand parentCommand, Plugin plugin) {
+        super(parentCommand, plugin);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getSubCommand() {
+        return "cmdstats";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getRequiredArgs() {
+        return 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean onlyPlayers() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void runCommand(CommandSender sender, String[] args) {
+        BaseCommand base = getParentCommand();
+        List<SubCommand> subCommands = new ArrayList<>();
+        collect(base, subCommands);
+        if (args.length > 1 && args[1].equalsIgnoreCase("reset")) {
+            base.getMetrics().reset();
+            subCommands.forEach(subCommand -> subCommand.getMetrics().reset());
+            sender.sendMessage(Utils.toColor("&aReset the metrics of " + (subCommands.size() + 1) + " commands."));
+            return;
+        }
+        subCommands.sort(Comparator.comparingLong((SubCommand subCommand) ->
+                subCommand.getMetrics().getExecutionTime().getPercentile(99)).reversed());
+        sender.sendMessage(Utils.toColor("&e/" + base.getCommandLabel() + " &7(slowest subcommands first)"));
+        sender.sendMessage(line("/" + base.getCommandLabel(), base.getMetrics()));
+        for (SubCommand subCommand : subCommands)
+            sender.sendMessage(line(subCommand.getPermission(), subCommand.getMetrics()));
+    }
+
+    /**
+     * Adds every subcommand below a command to a list.
+     *
+     * @param command     The command to collect the subcommands of.
+     * @param subCommands The list to add the subcommands to.
+     */
+    private void collect(HeritableCommand command, List<SubCommand> subCommands) {
+        for (String label : command.getSubCommands()) {
+            SubCommand subCommand = command.getSubCommand(label);
+            subCommands.add(subCommand);
+            collect(subCommand, subCommands);
+        }
+    }
+
+    /**
+     * Formats the metrics of a single command as a line of the command output.
+     *
+     * @param label   The label of the command.
+     * @param metrics The metrics to format.
+     * @return The formatted line.
+     */
+    private String line(String label, CommandMetrics metrics) {
+        StringBuilder rejections = new StringBuilder();
+        for (Rejection reason : Rejection.values()) {
+            long count = metrics.getRejections(reason);
+            if (count > 0)
+                rejections.append(' ').append(reason.name().toLowerCase()).append('=').append(count);
+        }
+        return Utils.toColor("&f" + label + " &7- " + metrics.getInvocations() + " runs, " + metrics.getExecutionTime()
+                + (rejections.length() == 0 ? "" : ", rejected:" + rejections));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getTabComplete(String[] args) {
+        if (args.length == 2)
+            return Collections.singletonList("reset");
+        return Collections.emptyList();
+    }
+}
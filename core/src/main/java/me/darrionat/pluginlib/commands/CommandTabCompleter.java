@@ -6,16 +6,26 @@ import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Represents a simple tab completer for a {@link BaseCommand}.
  * <p>
  * Tab completion is based upon the subcommands of the command.
  * <p>
- * Autofill is implemented within the tab completer.
+ * Autofill is implemented within the tab completer. Subcommand names and arguments with a {@link CompletionProvider}
+ * are completed by prefix from a {@link CompletionIndex}, while other arguments are completed from {@link
+ * SubCommand#getTabComplete(String[])}. Matching ignores case, while completions keep the case they were given in. At
+ * most {@link #MAX_COMPLETIONS} completions are returned, always within a mutable list.
  */
 public class CommandTabCompleter implements TabCompleter {
+    /**
+     * The maximum amount of completions returned for a single keystroke.
+     */
+    public static final int MAX_COMPLETIONS = 100;
+
     private final BaseCommand command;
 
     /**
@@ -35,42 +45,60 @@ public class CommandTabCompleter implements TabCompleter {
             if (!command.playerHasPermission(p))
                 return null;
         }
-        List<String> list = new ArrayList<>();
+        String typing = args[args.length - 1];
 
         // If user is typing out first argument, give them all possible subcommands
-        if (args.length == 1) {
-            list.addAll(command.getSubCommands());
-        }
+        if (args.length == 1)
+            return command.getSubCommandIndex().complete(typing, MAX_COMPLETIONS);
 
         // If user is typing out a subcommand, ask subcommand for tab complete
-        if (args.length >= 2) {
-            String subCommandString = args[0];
-            SubCommand subCommand = command.getSubCommand(subCommandString);
+        SubCommand subCommand = command.getSubCommand(args[0]);
+        if (subCommand == null) {
+            // The command the sender typed does not exist
+            return null;
+        }
+        // Walk down to the deepest nested subcommand that has been typed out
+        int depth = 1;
+        SubCommand child;
+        while (depth < args.length - 1 && (child = subCommand.getSubCommand(args[depth])) != null) {
+            // Nested subcommands require the permission of every subcommand above them
+            if (sender instanceof Player p && !subCommand.playerHasPermission(p))
+                return null;
+            subCommand = child;
+            depth++;
+        }
 
-            if (subCommand == null) {
-                // The command the sender typed does not exist
+        // Ignores players without permission
+        if (sender instanceof Player p) {
+            if (!subCommand.playerHasPermission(p)) {
                 return null;
             }
+        }
+        String[] subArgs = depth == 1 ? args : Arrays.copyOfRange(args, depth - 1, args.length);
+        List<String> list = new ArrayList<>();
+        // The user may be typing out a nested subcommand
+        if (depth == args.length - 1)
+            list.addAll(subCommand.getSubCommandIndex().complete(typing, MAX_COMPLETIONS));
 
-            // Ignores players without permission
-            if (sender instanceof Player p) {
-                if (!subCommand.playerHasPermission(p)) {
-                    return null;
-                }
-            }
-            // Get tab completion from subcommand logic
-            List<String> subTabComplete = subCommand.getTabComplete(args);
-            if (subTabComplete != null && !subTabComplete.isEmpty())
-                list.addAll(subTabComplete);
+        CompletionProvider provider = subCommand.getCompletion(subArgs.length - 1);
+        if (provider != null) {
+            list.addAll(provider.getCompletions(sender, subArgs).complete(typing, MAX_COMPLETIONS - list.size()));
+            return list;
         }
 
+        // Get tab completion from subcommand logic
+        List<String> subTabComplete = subCommand.getTabComplete(subArgs);
+        if (subTabComplete == null)
+            return list;
         // Removes arguments that the player isn't typing out.
         // This makes the list automatically shorter and adapt to autofill.
-        List<String> finalList = new ArrayList<>();
-        for (String s : list) {
-            if (s.toLowerCase().contains(args[args.length - 1].toLowerCase()))
-                finalList.add(s.toLowerCase());
+        String lowerTyping = typing.toLowerCase(Locale.ROOT);
+        for (String s : subTabComplete) {
+            if (list.size() >= MAX_COMPLETIONS)
+                break;
+            if (s.toLowerCase(Locale.ROOT).contains(lowerTyping))
+                list.add(s);
         }
-        return finalList;
+        return list;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,106 @@
+package me.darrionat.pluginlib.commands;
+
+import java.util.Arrays;
+
+/**
+ * Represents a case-insensitive map from command labels to values, stored as a character trie.
+ * <p>
+ * Looking up a label walks one node per character without creating any strings, so dispatching a command argument
+ * costs the length of the argument regardless of how many labels are stored.
+ *
+ * @param <V> The type of the values.
+ */
+public final class CommandTrie<V> {
+    private final Node<V> root = new Node<>();
+    private int size = 0;
+
+    /**
+     * Stores a value under a label, replacing any value already stored under the label.
+     *
+     * @param label The label, which is compared case-insensitively.
+     * @param value The value to store.
+     * @return The value previously stored under the label; {@code null} if there was none.
+     */
+    public V put(String label, V value) {
+        Node<V> node = root;
+        for (int i = 0; i < label.length(); i++)
+            node = node.childOrCreate(Character.toLowerCase(label.charAt(i)));
+        V previous = node.value;
+        node.value = value;
+        if (previous == null)
+            size++;
+        return previous;
+    }
+
+    /**
+     * Gets the value stored under a label.
+     *
+     * @param label The label, which is compared case-insensitively.
+     * @return The value of the label; {@code null} if no value is stored under the label.
+     */
+    public V get(String label) {
+        Node<V> node = root;
+        for (int i = 0; i < label.length() && node != null; i++)
+            node = node.child(Character.toLowerCase(label.charAt(i)));
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Gets the amount of labels stored.
+     *
+     * @return The size of the trie.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Determines if no labels are stored.
+     *
+     * @return Returns {@code true} if the trie is empty; {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Represents a single character of a label.
+     *
+     * @param <V> The type of the values.
+     */
+    private static final class Node<V> {
+        /**
+         * The characters of the children, in the same order as {@link #children}.
+         */
+        private char[] keys = new char[0];
+        private Node<V>[] children = newArray(0);
+        /**
+         * The value of the label ending at this node; {@code null} if no label ends here.
+         */
+        private V value;
+
+        @SuppressWarnings("unchecked")
+        private static <V> Node<V>[] newArray(int length) {
+            return (Node<V>[]) new Node[length];
+        }
+
+        private Node<V> child(char c) {
+            for (int i = 0; i < keys.length; i++)
+                if (keys[i] == c)
+                    return children[i];
+            return null;
+        }
+
+        private Node<V> childOrCreate(char c) {
+            Node<V> child = child(c);
+            if (child != null)
+                return child;
+            child = new Node<>();
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = c;
+            children[children.length - 1] = child;
+            return child;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package me.darrionat.pluginlib.commands;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Represents a sorted index of tab completion candidates.
+ * <p>
+ * Candidates are lowercased and sorted once, when the index is created. Completing a prefix is a binary search for the
+ * first matching candidate followed by a walk over the matches, so completions cost {@code O(log n + k)} for {@code k}
+ * results rather than a scan of every candidate. Indices are immutable and able to be shared between threads.
+ */
+public final class CompletionIndex {
+    /**
+     * An index without any candidates.
+     */
+    public static final CompletionIndex EMPTY = new CompletionIndex(new String[0], new String[0]);
+
+    /**
+     * The lowercased candidates, sorted.
+     */
+    private final String[] keys;
+    /**
+     * The candidates as they were given, in the same order as {@link #keys}.
+     */
+    private final String[] values;
+
+    private CompletionIndex(String[] keys, String[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Creates an index of candidates. Duplicate candidates are only completed once.
+     *
+     * @param candidates The candidates to complete.
+     * @return The index of the candidates.
+     */
+    public static CompletionIndex of(Collection<String> candidates) {
+        if (candidates.isEmpty())
+            return EMPTY;
+        String[][] entries = new String[candidates.size()][];
+        int i = 0;
+        for (String candidate : candidates)
+            entries[i++] = new String[]{candidate.toLowerCase(Locale.ROOT), candidate};
+        Arrays.sort(entries, (a, b) -> a[0].compareTo(b[0]));
+
+        List<String> keys = new ArrayList<>(entries.length);
+        List<String> values = new ArrayList<>(entries.length);
+        for (String[] entry : entries) {
+            int last = keys.size() - 1;
+            if (last >= 0 && keys.get(last).equals(entry[0]) && values.get(last).equals(entry[1]))
+                continue;
+            keys.add(entry[0]);
+            values.add(entry[1]);
+        }
+        return new CompletionIndex(keys.toArray(new String[0]), values.toArray(new String[0]));
+    }
+
+    /**
+     * Gets the candidates that begin with a prefix, ignoring case.
+     *
+     * @param prefix The prefix being typed.
+     * @param limit  The maximum amount of candidates to return.
+     * @return A new, mutable list of the matching candidates in alphabetical order, as they were given.
+     */
+    public List<String> complete(String prefix, int limit) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        int low = 0, high = keys.length;
+        // Find the first candidate that is not less than the prefix
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        if (low == keys.length || !keys[low].startsWith(key))
+            return new ArrayList<>();
+        List<String> matches = new ArrayList<>();
+        for (int i = low; i < keys.length && matches.size() < limit && keys[i].startsWith(key); i++)
+            matches.add(values[i]);
+        return matches;
+    }
+
+    /**
+     * Gets the amount of candidates within the index.
+     *
+     * @return The size of the index.
+     */
+    public int size() {
+        return keys.length;
+    }
+}
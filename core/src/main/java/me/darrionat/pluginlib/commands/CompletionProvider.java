@@ -0,0 +1,33 @@
+package me.darrionat.pluginlib.commands;
+
+import org.bukkit.command.CommandSender;
+
+/**
+ * Provides the tab completion candidates of a single argument of a {@link SubCommand}.
+ * <p>
+ * Providers are ran on the main thread while a player types, so they should return an index that has already been
+ * built. Candidates that require I/O to gather should be provided by a {@link CachedCompletion}.
+ *
+ * @see SubCommand#setCompletion(int, CompletionProvider)
+ */
+@FunctionalInterface
+public interface CompletionProvider {
+    /**
+     * Gets the candidates of the argument being typed.
+     *
+     * @param sender The sender typing the command.
+     * @param args   The arguments of the subcommand typed so far, with the argument being typed last.
+     * @return The index of candidates to complete from.
+     */
+    CompletionIndex getCompletions(CommandSender sender, String[] args);
+
+    /**
+     * Creates a provider that always completes from the same candidates.
+     *
+     * @param index The index of the candidates.
+     * @return A provider of the index.
+     */
+    static CompletionProvider of(CompletionIndex index) {
+        return (sender, args) -> index;
+    }
+}
@@ -7,6 +7,8 @@ import java.util.Set;
 
 /**
  * An interface used to define which commands are able to have subcommands.
+ * <p>
+ * Subcommands are able to have subcommands of their own, forming a tree that is dispatched one argument per level.
  */
 public interface HeritableCommand {
     /**
@@ -16,6 +18,21 @@ public interface HeritableCommand {
      */
     Set<String> getSubCommands();
 
+    /**
+     * Gets a {@link SubCommand} of this command by its label or one of its aliases, ignoring case.
+     *
+     * @param label The label or alias of the subcommand.
+     * @return Returns the subcommand; {@code null} if this command has no such subcommand.
+     */
+    SubCommand getSubCommand(String label);
+
+    /**
+     * Gets an index of the names of the {@link SubCommand}s that this command has, used for tab completion.
+     *
+     * @return Returns the index of the subcommand names.
+     */
+    CompletionIndex getSubCommandIndex();
+
     /**
      * Adds a {@link SubCommand} to the {@link HeritableCommand}.
      *
@@ -0,0 +1,131 @@
+package me.darrionat.pluginlib.commands;
+
+import me.darrionat.pluginlib.Plugin;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the {@link CompletionIndex}es of the names of online players and loaded worlds, shared by every {@link
+ * Argument#player(String)} and {@link Argument#world(String)}.
+ * <p>
+ * An index is only rebuilt on the first completion after players join or leave, or worlds load or unload, so a
+ * keystroke otherwise costs a single prefix search of the index.
+ */
+final class NameCompletions implements Listener {
+    private static NameCompletions instance;
+
+    private final Plugin plugin;
+    /**
+     * The index of the names of online players; {@code null} until needed again after a player joined or left.
+     */
+    private volatile CompletionIndex players;
+    /**
+     * The index of the names of loaded worlds; {@code null} until needed again after a world loaded or unloaded.
+     */
+    private volatile CompletionIndex worlds;
+
+    private NameCompletions(Plugin plugin) {
+        this.plugin = plugin;
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Gets the name completions of the running {@link Plugin}.
+     *
+     * @return The name completions.
+     * @see Plugin#getProject()
+     */
+    static NameCompletions get() {
+        Plugin plugin = Plugin.getProject();
+        if (instance == null || instance.plugin != plugin) {
+            if (instance != null)
+                HandlerList.unregisterAll(instance);
+            instance = new NameCompletions(plugin);
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the index of the names of online players.
+     *
+     * @return The index of the player names.
+     */
+    CompletionIndex getPlayers() {
+        CompletionIndex index = players;
+        if (index == null) {
+            List<String> names = new ArrayList<>();
+            for (Player p : Bukkit.getOnlinePlayers())
+                names.add(p.getName());
+            players = index = CompletionIndex.of(names);
+        }
+        return index;
+    }
+
+    /**
+     * Gets the index of the names of loaded worlds.
+     *
+     * @return The index of the world names.
+     */
+    CompletionIndex getWorlds() {
+        CompletionIndex index = worlds;
+        if (index == null) {
+            List<String> names = new ArrayList<>();
+            for (World world : Bukkit.getWorlds())
+                names.add(world.getName());
+            worlds = index = CompletionIndex.of(names);
+        }
+        return index;
+    }
+
+    /**
+     * Rebuilds the player names once a player has joined.
+     *
+     * @param e The Event that is passed.
+     */
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent e) {
+        players = null;
+    }
+
+    /**
+     * Rebuilds the player names once a player has left. The player is removed from the online players after the event,
+     * before the names are next completed.
+     *
+     * @param e The Event that is passed.
+     */
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent e) {
+        players = null;
+    }
+
+    /**
+     * Rebuilds the world names once a world has loaded.
+     *
+     * @param e The Event that is passed.
+     */
+    @EventHandler
+    public void onWorldLoad(WorldLoadEvent e) {
+        worlds = null;
+    }
+
+    /**
+     * Rebuilds the world names once a world has unloaded.
+     *
+     * @param e The Event that is passed.
+     */
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent e) {
+        worlds = null;
+    }
+}
@@ -0,0 +1,180 @@
+package me.darrionat.pluginlib.commands;
+
+import me.darrionat.pluginlib.Plugin;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the outcome of {@link Player#hasPermission(String)} for the permissions of commands.
+ * <p>
+ * Every permission node is given an id once, when its command is created. Each player has an array of decisions
+ * indexed by node id, so a cached check is a single array read. Decisions expire after a short time, since Bukkit has
+ * no event for permission changes, and are discarded when the player changes worlds or leaves. Plugins that change
+ * permissions should run {@link #invalidate(Player)}.
+ * <p>
+ * The time to live is kept per player rather than per decision: once it has passed since a player's decisions were
+ * last cleared, every decision of the player is discarded together. A decision may therefore be dropped sooner than
+ * its own time to live, but never kept longer, and no timestamp is stored for each node.
+ * <p>
+ * The cache should only be used on the main thread.
+ */
+public class PermissionCache implements Listener {
+    private static final byte UNKNOWN = 0;
+    private static final byte ALLOWED = 1;
+    private static final byte DENIED = 2;
+    /**
+     * The default amount of milliseconds that decisions are cached for.
+     */
+    private static final long DEFAULT_TTL = 5000;
+    private static PermissionCache instance;
+
+    private final Plugin plugin;
+    /**
+     * The id of every permission node.
+     */
+    private final Map<String, Integer> nodeIds = new HashMap<>();
+    /**
+     * The cached decisions of each player.
+     */
+    private final Map<UUID, Decisions> players = new HashMap<>();
+    /**
+     * The amount of nanoseconds that decisions are cached for.
+     */
+    private long ttlNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_TTL);
+
+    private PermissionCache(Plugin plugin) {
+        this.plugin = plugin;
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Gets the permission cache of a plugin. A cache of a different plugin is replaced and stops listening for events.
+     *
+     * @param plugin The plugin whose commands are checked.
+     * @return The cache of the plugin.
+     */
+    public static PermissionCache get(Plugin plugin) {
+        if (instance == null || instance.plugin != plugin) {
+            if (instance != null)
+                HandlerList.unregisterAll(instance);
+            instance = new PermissionCache(plugin);
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the id of a permission node, assigning a new id if the node has not been seen.
+     *
+     * @param node The permission node.
+     * @return The id of the node.
+     */
+    public int getNodeId(String node) {
+        return nodeIds.computeIfAbsent(node, n -> nodeIds.size());
+    }
+
+    /**
+     * Checks to see if a player has a permission, using the cached decision if one has not expired.
+     *
+     * @param p      The player to check.
+     * @param nodeId The id of the permission node.
+     * @param node   The permission node.
+     * @return Returns {@code true} if the player has the permission; {@code false} otherwise.
+     * @see #getNodeId(String)
+     */
+    public boolean hasPermission(Player p, int nodeId, String node) {
+        long now = System.nanoTime();
+        Decisions decisions = players.get(p.getUniqueId());
+        if (decisions == null) {
+            decisions = new Decisions(nodeIds.size());
+            players.put(p.getUniqueId(), decisions);
+        }
+        if (now - decisions.since > ttlNanos) {
+            Arrays.fill(decisions.values, UNKNOWN);
+            decisions.since = now;
+        }
+        if (nodeId >= decisions.values.length)
+            decisions.values = Arrays.copyOf(decisions.values, Math.max(nodeIds.size(), nodeId + 1));
+
+        byte decision = decisions.values[nodeId];
+        if (decision == UNKNOWN) {
+            decision = p.hasPermission(node) ? ALLOWED : DENIED;
+            decisions.values[nodeId] = decision;
+        }
+        return decision == ALLOWED;
+    }
+
+    /**
+     * Sets the amount of milliseconds that the decisions of a player are cached for, counted from when they were last
+     * cleared. Set to {@code 5000} by default.
+     *
+     * @param ttlMillis The time to live of a decision in milliseconds.
+     */
+    public void setTimeToLive(long ttlMillis) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMillis));
+    }
+
+    /**
+     * Discards every cached decision of a player. This should be ran when the permissions of the player change.
+     *
+     * @param p The player whose decisions to discard.
+     */
+    public void invalidate(Player p) {
+        players.remove(p.getUniqueId());
+    }
+
+    /**
+     * Discards every cached decision of every player.
+     */
+    public void invalidateAll() {
+        players.clear();
+    }
+
+    /**
+     * Discards the decisions of a player who leaves the server.
+     *
+     * @param e The Event that is passed.
+     */
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent e) {
+        invalidate(e.getPlayer());
+    }
+
+    /**
+     * Discards the decisions of a player who changes worlds, since permissions may differ per world.
+     *
+     * @param e The Event that is passed.
+     */
+    @EventHandler
+    public void onWorldChange(PlayerChangedWorldEvent e) {
+        invalidate(e.getPlayer());
+    }
+
+    /**
+     * The cached decisions of a single player.
+     */
+    private static final class Decisions {
+        /**
+         * The decision of each node, indexed by node id.
+         */
+        private byte[] values;
+        /**
+         * The time the decisions were last cleared, as given by {@link System#nanoTime()}.
+         */
+        private long since = System.nanoTime();
+
+        private Decisions(int nodes) {
+            this.values = new byte[nodes];
+        }
+    }
+}
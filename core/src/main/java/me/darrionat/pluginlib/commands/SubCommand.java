@@ -2,30 +2,100 @@ package me.darrionat.pluginlib.commands;
 
 import me.darrionat.pluginlib.ErrorHandler;
 import me.darrionat.pluginlib.Plugin;
+import me.darrionat.pluginlib.commands.CommandMetrics.Rejection;
+import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * The {@link SubCommand} represents a command that has arguments. SubCommands require to be within a parent command,
  * {@link BaseCommand}.
+ * <p>
+ * SubCommands are able to have subcommands of their own. The permission of a nested subcommand extends the permission
+ * of its parent, such as {@code arena.admin.reset}. Running a nested subcommand also requires the permission of every
+ * subcommand above it, so denying {@code arena.admin} denies {@code /arena admin reset}, and a nested subcommand is only
+ * for players if any subcommand above it is.
  *
  * @see SubCommand#run(CommandSender, String[])
  */
-public abstract class SubCommand {
+public abstract class SubCommand implements HeritableCommand {
     /**
      * The {@link ErrorHandler} of the plugin.
      */
     private final ErrorHandler errorHandler;
     /**
-     * The parent command.
+     * The plugin that the subcommand belongs to.
+     */
+    private final Plugin plugin;
+    /**
+     * The {@link BaseCommand} at the root of the command tree.
      */
     private final BaseCommand parentCommand;
+    /**
+     * The command directly above this SubCommand.
+     */
+    private final HeritableCommand parent;
     /**
      * The permission of this SubCommand.
      */
     private final String permission;
+    private final PermissionCache permissionCache;
+    /**
+     * The id of {@link #permission} within the {@link PermissionCache}.
+     */
+    private final int permissionId;
+    /**
+     * The names of the subcommands of this SubCommand.
+     */
+    private final Map<String, SubCommand> subCommandMap = new HashMap<>();
+    /**
+     * The subcommands keyed by their labels and aliases, used for dispatching.
+     */
+    private final CommandTrie<SubCommand> subCommandTrie = new CommandTrie<>();
+    /**
+     * The subcommands whose aliases have not been added to {@link #subCommandTrie} yet. Aliases are only read once the
+     * subcommands are first looked up, since subcommands are added while they are still being constructed.
+     */
+    private final List<SubCommand> pendingAliases = new ArrayList<>();
+    /**
+     * The index of the names of the subcommands, used for tab completion; {@code null} until first needed.
+     */
+    private CompletionIndex subCommandIndex;
+    /**
+     * The completion provider of each argument; {@code null} for arguments completed by {@link
+     * #getTabComplete(String[])}.
+     */
+    private CompletionProvider[] completions = new CompletionProvider[0];
+    /**
+     * The typed arguments of this SubCommand; {@code null} until first needed.
+     *
+     * @see #getArguments()
+     */
+    private Argument<?>[] arguments;
+    /**
+     * The cooldown or rate limit of this SubCommand; {@code null} if the subcommand is not limited.
+     */
+    private CommandLimit limit;
+    /**
+     * The performance metrics of this SubCommand.
+     */
+    private final CommandMetrics metrics = new CommandMetrics();
+    /**
+     * The amount of times this SubCommand is currently running asynchronously.
+     */
+    private final AtomicInteger running = new AtomicInteger();
 
     /**
      * Creates a new {@link SubCommand} object and adds it the {@link BaseCommand}'s subcommands.
@@ -34,10 +104,28 @@ public abstract class SubCommand {
      * @param plugin        The plugin that the subcommand belongs to.
      */
     public SubCommand(BaseCommand parentCommand, Plugin plugin) {
+        this(parentCommand, parentCommand, parentCommand.getCommandLabel(), plugin);
+    }
+
+    /**
+     * Creates a new nested {@link SubCommand} object and adds it to the subcommands of another {@link SubCommand}.
+     *
+     * @param parent The subcommand this subcommand is nested within.
+     * @param plugin The plugin that the subcommand belongs to.
+     */
+    public SubCommand(SubCommand parent, Plugin plugin) {
+        this(parent, parent.getParentCommand(), parent.getPermission(), plugin);
+    }
+
+    private SubCommand(HeritableCommand parent, BaseCommand parentCommand, String permissionPrefix, Plugin plugin) {
+        this.parent = parent;
         this.parentCommand = parentCommand;
         this.errorHandler = plugin.getErrorHandler();
-        this.permission = parentCommand.getCommandLabel() + "." + getSubCommand();
-        parentCommand.addSubCommand(this);
+        this.plugin = plugin;
+        this.permission = permissionPrefix + "." + getSubCommand();
+        this.permissionCache = PermissionCache.get(plugin);
+        this.permissionId = permissionCache.getNodeId(permission);
+        parent.addSubCommand(this);
     }
 
     /**
@@ -49,6 +137,72 @@ public abstract class SubCommand {
         return parentCommand;
     }
 
+    /**
+     * Gets the command directly above this {@link SubCommand}.
+     *
+     * @return Returns the {@link BaseCommand} or {@link SubCommand} this subcommand was added to.
+     */
+    public HeritableCommand getParent() {
+        return parent;
+    }
+
+    /**
+     * Gets the aliases of the {@link SubCommand}, which are able to be used in place of {@link #getSubCommand()}. The
+     * aliases are read once, after the subcommand has been constructed, so they may be returned from fields.
+     *
+     * @return Returns the aliases of the subcommand. Empty by default.
+     */
+    public List<String> getAliases() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Set<String> getSubCommands() {
+        return subCommandMap.keySet();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public SubCommand getSubCommand(String label) {
+        if (subCommandTrie.isEmpty())
+            return null;
+        if (!pendingAliases.isEmpty())
+            addPendingAliases();
+        return subCommandTrie.get(label);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public CompletionIndex getSubCommandIndex() {
+        if (subCommandIndex == null)
+            subCommandIndex = CompletionIndex.of(getSubCommands());
+        return subCommandIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void addSubCommand(SubCommand subCommand) {
+        subCommandIndex = null;
+        subCommandMap.put(subCommand.getSubCommand(), subCommand);
+        subCommandTrie.put(subCommand.getSubCommand(), subCommand);
+        pendingAliases.add(subCommand);
+    }
+
+    /**
+     * Adds the aliases of every subcommand added since the subcommands were last looked up.
+     */
+    private void addPendingAliases() {
+        for (SubCommand subCommand : pendingAliases)
+            for (String alias : subCommand.getAliases())
+                subCommandTrie.put(alias, subCommand);
+        pendingAliases.clear();
+    }
+
     /**
      * Gets the argument of the {@link SubCommand} represented as {@link String}.
      *
@@ -70,31 +224,270 @@ public abstract class SubCommand {
      * Ran when the parent {@link BaseCommand} is run and has this {@link SubCommand}.
      *
      * @param sender The person who ran the command.
-     * @param args   The arguments of the command. {@link SubCommand#getSubCommand()} will always be equal to {@code
-     *               args[0]}
+     * @param args   The arguments of the command. {@code args[0]} will always be the label or alias this subcommand was
+     *               ran with. The arguments of any parent subcommands are not included.
      */
     public void run(CommandSender sender, String[] args) {
+        metrics.recordInvocation();
         if (args.length < getRequiredArgs()) {
+            metrics.recordRejection(Rejection.NOT_ENOUGH_ARGUMENTS);
             errorHandler.notEnoughArguments(this, sender);
             return;
         }
 
         if (!(sender instanceof Player) && onlyPlayers()) {
+            metrics.recordRejection(Rejection.ONLY_PLAYERS);
             errorHandler.onlyPlayerCommandError(sender);
             return;
         }
 
         if (sender instanceof Player p) {
             if (!playerHasPermission(p)) {
+                metrics.recordRejection(Rejection.NO_PERMISSION);
                 errorHandler.noPermissionError(p, permission);
                 return;
             }
         }
+
+        CommandArguments parsed = parseArguments(sender, args);
+        if (parsed == null)
+            return;
+        if (limit != null && sender instanceof Player p) {
+            long remaining = limit.tryAcquire(p.getUniqueId());
+            if (remaining > 0) {
+                metrics.recordRejection(Rejection.COOLDOWN);
+                errorHandler.onCooldown(sender, remaining);
+                return;
+            }
+        }
+        if (!async()) {
+            timedExecute(sender, args, parsed);
+            return;
+        }
+        runAsync(sender, args, parsed);
+    }
+
+    /**
+     * Checks whether a sender may run the subcommands nested within this {@link SubCommand}, reporting the reason if
+     * they may not. This is checked for every subcommand that is passed through on the way to a nested subcommand.
+     *
+     * @param sender The person who ran the command.
+     * @return Returns {@code true} if the sender may pass through this subcommand; {@code false} otherwise.
+     */
+    boolean checkTraversal(CommandSender sender) {
+        if (!(sender instanceof Player) && onlyPlayers()) {
+            metrics.recordInvocation();
+            metrics.recordRejection(Rejection.ONLY_PLAYERS);
+            errorHandler.onlyPlayerCommandError(sender);
+            return false;
+        }
+        if (sender instanceof Player p && !playerHasPermission(p)) {
+            metrics.recordInvocation();
+            metrics.recordRejection(Rejection.NO_PERMISSION);
+            errorHandler.noPermissionError(p, permission);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Parses the typed arguments of the {@link SubCommand}, reporting the first argument that is missing or invalid.
+     *
+     * @param sender The person who ran the command.
+     * @param args   The arguments of the command.
+     * @return The parsed arguments; {@code null} if an argument was missing or invalid.
+     */
+    private CommandArguments parseArguments(CommandSender sender, String[] args) {
+        Argument<?>[] arguments = getCompiledArguments();
+        Object[] values = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            Argument<?> argument = arguments[i];
+            if (i + 1 >= args.length) {
+                if (argument.isOptional())
+                    continue;
+                metrics.recordRejection(Rejection.NOT_ENOUGH_ARGUMENTS);
+                errorHandler.notEnoughArguments(this, sender);
+                return null;
+            }
+            String input = argument.isGreedy() ? String.join(" ", Arrays.copyOfRange(args, i + 1, args.length))
+                    : args[i + 1];
+            Object value = argument.parse(input);
+            if (value == null) {
+                metrics.recordRejection(Rejection.INVALID_ARGUMENT);
+                errorHandler.invalidArgument(this, sender, argument, input);
+                return null;
+            }
+            values[i] = value;
+        }
+        return new CommandArguments(arguments, values, args);
+    }
+
+    /**
+     * Executes the {@link SubCommand} once its arguments have been checked.
+     *
+     * @param sender    The person who ran the command.
+     * @param args      The arguments of the command.
+     * @param arguments The parsed typed arguments.
+     */
+    void execute(CommandSender sender, String[] args, CommandArguments arguments) {
         runCommand(sender, args);
     }
 
+    /**
+     * Executes the {@link SubCommand}, recording how long it took and logging it if it was slow.
+     *
+     * @param sender The person who ran the command.
+     * @param args   The arguments of the command.
+     * @param parsed The parsed typed arguments.
+     */
+    private void timedExecute(CommandSender sender, String[] args, CommandArguments parsed) {
+        long start = System.nanoTime();
+        try {
+            execute(sender, args, parsed);
+        } finally {
+            long took = System.nanoTime() - start;
+            metrics.getExecutionTime().record(took);
+            if (took > parentCommand.getSlowThresholdNanos())
+                parentCommand.logSlowCommand(sender, describe(args), took, !Bukkit.isPrimaryThread());
+        }
+    }
+
+    /**
+     * Describes a use of the {@link SubCommand} as it would be typed, with the names of the subcommands rather than
+     * any aliases.
+     *
+     * @param args The arguments of the command.
+     * @return The command, starting with a slash.
+     */
+    private String describe(String[] args) {
+        StringBuilder path = new StringBuilder(getSubCommand());
+        HeritableCommand command = parent;
+        while (command instanceof SubCommand subCommand) {
+            path.insert(0, subCommand.getSubCommand() + " ");
+            command = subCommand.getParent();
+        }
+        path.insert(0, "/" + parentCommand.getCommandLabel() + " ");
+        for (int i = 1; i < args.length; i++)
+            path.append(' ').append(args[i]);
+        return path.toString();
+    }
+
+    /**
+     * Runs the {@link SubCommand} on a worker thread if it is not already running as many times as it allows.
+     *
+     * @param sender The person who ran the command.
+     * @param args   The arguments of the command.
+     * @param parsed The parsed typed arguments.
+     * @see AsyncCommandExecutor
+     */
+    private void runAsync(CommandSender sender, String[] args, CommandArguments parsed) {
+        if (running.incrementAndGet() > getMaxConcurrent()) {
+            running.decrementAndGet();
+            metrics.recordRejection(Rejection.BUSY);
+            errorHandler.commandBusy(this, sender);
+            return;
+        }
+        try {
+            AsyncCommandExecutor.get(plugin).execute(sender, () -> timedExecute(sender, args, parsed),
+                    running::decrementAndGet);
+        } catch (RejectedExecutionException e) {
+            running.decrementAndGet();
+            metrics.recordRejection(Rejection.BUSY);
+            errorHandler.commandBusy(this, sender);
+        }
+    }
+
+    /**
+     * Determines if {@link #runCommand(CommandSender, String[])} is ran on a worker thread instead of the main thread.
+     * Asynchronous commands must use {@link #sync(Runnable)} for any Bukkit calls, and are interrupted if the player
+     * who ran them leaves.
+     *
+     * @return Returns {@code true} if the command is ran asynchronously. {@code false} by default.
+     */
+    protected boolean async() {
+        return false;
+    }
+
+    /**
+     * Gets the maximum amount of times an asynchronous {@link SubCommand} can run at once, across all senders. Senders
+     * that run the command beyond this limit are told the command is busy.
+     *
+     * @return Returns the concurrency limit of the command. {@code 1} by default.
+     * @see ErrorHandler#commandBusy(SubCommand, CommandSender)
+     */
+    public int getMaxConcurrent() {
+        return 1;
+    }
+
+    /**
+     * Gets the performance metrics of the {@link SubCommand}.
+     *
+     * @return The metrics of the subcommand.
+     */
+    public CommandMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the cooldown or rate limit of the {@link SubCommand}. Players who run the subcommand too often are told how
+     * long to wait instead of the subcommand being ran. Only uses with valid arguments count towards the limit.
+     *
+     * @param limit The limit of the subcommand; {@code null} to remove the limit.
+     * @see ErrorHandler#onCooldown(CommandSender, long)
+     */
+    public void setLimit(CommandLimit limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Gets the cooldown or rate limit of the {@link SubCommand}.
+     *
+     * @return Returns the limit of the subcommand; {@code null} if the subcommand is not limited.
+     */
+    public CommandLimit getLimit() {
+        return limit;
+    }
+
+    /**
+     * Runs an action on the main thread. If already on the main thread, the action is ran immediately.
+     *
+     * @param action The action to run.
+     */
+    protected void sync(Runnable action) {
+        if (Bukkit.isPrimaryThread())
+            action.run();
+        else
+            Bukkit.getScheduler().runTask(plugin, action);
+    }
+
+    /**
+     * Gets a value on the main thread. If already on the main thread, the value is gotten immediately.
+     *
+     * @param supplier Supplies the value.
+     * @param <T>      The type of the value.
+     * @return A future that completes with the value once it has been gotten.
+     */
+    protected <T> CompletableFuture<T> callSync(Supplier<T> supplier) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        sync(() -> {
+            try {
+                future.complete(supplier.get());
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Checks whether or not the player has permission for this {@link SubCommand}. The decision is cached by the {@link
+     * PermissionCache} of the plugin.
+     *
+     * @param p The player.
+     * @return Returns {@code true} if the player has permission to use this subcommand, {@code false} otherwise.
+     */
     public boolean playerHasPermission(Player p) {
-        return p.hasPermission(permission);
+        return permissionCache.hasPermission(p, permissionId, permission);
     }
 
     /**
@@ -121,6 +514,61 @@ public abstract class SubCommand {
      */
     protected abstract void runCommand(CommandSender sender, String[] args);
 
+    /**
+     * Gets the typed arguments of the {@link SubCommand}, which are parsed on the main thread before the command is
+     * ran. Arguments that are missing or invalid are reported through the {@link ErrorHandler} and the command is not
+     * ran. This is only read once.
+     *
+     * @return Returns the typed arguments in order, after the subcommand itself. Empty by default.
+     * @see TypedSubCommand
+     */
+    public List<Argument<?>> getArguments() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Gets the typed arguments of the {@link SubCommand}, reading them the first time they are needed.
+     *
+     * @return The typed arguments.
+     */
+    Argument<?>[] getCompiledArguments() {
+        if (arguments == null)
+            arguments = getArguments().toArray(new Argument<?>[0]);
+        return arguments;
+    }
+
+    /**
+     * Sets the provider of the tab completions of an argument. Arguments with a provider are completed from its index
+     * instead of {@link #getTabComplete(String[])}.
+     *
+     * @param argument The index of the argument, where {@code 1} is the first argument after the subcommand.
+     * @param provider The provider of the argument's completions.
+     */
+    public void setCompletion(int argument, CompletionProvider provider) {
+        if (argument >= completions.length)
+            completions = Arrays.copyOf(completions, argument + 1);
+        completions[argument] = provider;
+    }
+
+    /**
+     * Gets the provider of the tab completions of an argument.
+     *
+     * @param argument The index of the argument, where {@code 1} is the first argument after the subcommand.
+     * @return Returns the provider of the argument, falling back to the completions of its typed {@link Argument};
+     * {@code null} if the argument has no provider.
+     */
+    public CompletionProvider getCompletion(int argument) {
+        if (argument < completions.length && completions[argument] != null)
+            return completions[argument];
+        Argument<?>[] arguments = getCompiledArguments();
+        if (argument < 1 || arguments.length == 0)
+            return null;
+        if (argument <= arguments.length)
+            return arguments[argument - 1].getCompletions();
+        Argument<?> last = arguments[arguments.length - 1];
+        return last.isGreedy() ? last.getCompletions() : null;
+    }
+
     /**
      * Requests a list of all possibilities for potential tab completes.
      *
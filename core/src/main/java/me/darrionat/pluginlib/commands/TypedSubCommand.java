@@ -0,0 +1,92 @@
+package me.darrionat.pluginlib.commands;
+
+import me.darrionat.pluginlib.Plugin;
+import org.bukkit.command.CommandSender;
+
+import java.util.List;
+
+/**
+ * Represents a {@link SubCommand} that is ran with parsed {@link Argument}s instead of raw text.
+ * <p>
+ * The amount of required arguments is derived from the declared arguments, and the arguments are tab completed from
+ * their own completions.
+ *
+ * @see SubCommand#getArguments()
+ */
+public abstract class TypedSubCommand extends SubCommand {
+    /**
+     * Creates a new {@link TypedSubCommand} object and adds it the {@link BaseCommand}'s subcommands.
+     *
+     * @param parentCommand The parent command.
+     * @param plugin        The plugin that the subcommand belongs to.
+     */
+    public TypedSubCommand(BaseCommand parentCommand, Plugin plugin) {
+        super(parentCommand, plugin);
+    }
+
+    /**
+     * Creates a new nested {@link TypedSubCommand} object and adds it to the subcommands of another {@link SubCommand}.
+     *
+     * @param parent The subcommand this subcommand is nested within.
+     * @param plugin The plugin that the subcommand belongs to.
+     */
+    public TypedSubCommand(SubCommand parent, Plugin plugin) {
+        super(parent, plugin);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public abstract List<Argument<?>> getArguments();
+
+    /**
+     * Executes the {@link TypedSubCommand} and its effects.
+     *
+     * @param sender    The person who ran the command.
+     * @param arguments The parsed arguments of the command.
+     */
+    protected abstract void runCommand(CommandSender sender, CommandArguments arguments);
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return Returns one more than the amount of arguments that are not optional.
+     */
+    @Override
+    public final int getRequiredArgs() {
+        int required = 1;
+        for (Argument<?> argument : getCompiledArguments())
+            if (!argument.isOptional())
+                required++;
+        return required;
+    }
+
+    /**
+     * Typed subcommands are ran through {@link #runCommand(CommandSender, CommandArguments)} instead.
+     *
+     * @param sender The person who ran the command.
+     * @param args   The arguments of the command.
+     */
+    @Override
+    protected final void runCommand(CommandSender sender, String[] args) {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void execute(CommandSender sender, String[] args, CommandArguments arguments) {
+        runCommand(sender, arguments);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return Returns {@code null} by default, since arguments are completed from their own completions.
+     */
+    @Override
+    public List<String> getTabComplete(String[] args) {
+        return null;
+    }
+}
@@ -0,0 +1,149 @@
+package me.darrionat.pluginlib.commands;
+
+import java.util.Arrays;
+
+/**
+ * Represents a map from the bits of {@link java.util.UUID}s to {@code long} values, stored in primitive arrays with open
+ * addressing and linear probing so that no objects are created per entry.
+ * <p>
+ * The map is not thread-safe.
+ */
+final class UuidLongMap {
+    /**
+     * The value returned for keys that are not within the map.
+     */
+    static final long MISSING = Long.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] highs = new long[INITIAL_CAPACITY];
+    private long[] lows = new long[INITIAL_CAPACITY];
+    private long[] values = new long[INITIAL_CAPACITY];
+    /**
+     * Determines if each slot holds an entry.
+     */
+    private boolean[] used = new boolean[INITIAL_CAPACITY];
+    private int size = 0;
+
+    /**
+     * Gets the value of a key.
+     *
+     * @param high The most significant bits of the key.
+     * @param low  The least significant bits of the key.
+     * @return The value of the key; {@link #MISSING} if the key is not within the map.
+     */
+    long get(long high, long low) {
+        int slot = find(high, low);
+        return used[slot] ? values[slot] : MISSING;
+    }
+
+    /**
+     * Sets the value of a key.
+     *
+     * @param high  The most significant bits of the key.
+     * @param low   The least significant bits of the key.
+     * @param value The value of the key.
+     * @return Returns {@code true} if the key was added; {@code false} if its value was replaced.
+     */
+    boolean put(long high, long low, long value) {
+        int slot = find(high, low);
+        if (used[slot]) {
+            values[slot] = value;
+            return false;
+        }
+        used[slot] = true;
+        highs[slot] = high;
+        lows[slot] = low;
+        values[slot] = value;
+        // Keep the load factor at or below one half
+        if (++size * 2 > used.length)
+            resize(used.length * 2);
+        return true;
+    }
+
+    /**
+     * Removes a key from the map.
+     *
+     * @param high The most significant bits of the key.
+     * @param low  The least significant bits of the key.
+     */
+    void remove(long high, long low) {
+        int slot = find(high, low);
+        if (!used[slot]) return;
+        used[slot] = false;
+        size--;
+        // Shift back the entries after the removed slot so that no probe sequence is broken
+        int mask = used.length - 1;
+        int next = (slot + 1) & mask;
+        while (used[next]) {
+            int home = hash(highs[next], lows[next]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                used[slot] = true;
+                highs[slot] = highs[next];
+                lows[slot] = lows[next];
+                values[slot] = values[next];
+                used[next] = false;
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        // Release memory once most of the entries have expired
+        if (used.length > INITIAL_CAPACITY && size * 8 < used.length)
+            resize(used.length / 2);
+    }
+
+    /**
+     * Gets the amount of keys within the map.
+     *
+     * @return The size of the map.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes every key from the map.
+     */
+    void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    /**
+     * Finds the slot of a key.
+     *
+     * @param high The most significant bits of the key.
+     * @param low  The least significant bits of the key.
+     * @return The slot holding the key, or the empty slot the key would be placed in.
+     */
+    private int find(long high, long low) {
+        int mask = used.length - 1;
+        int slot = hash(high, low) & mask;
+        while (used[slot] && (highs[slot] != high || lows[slot] != low))
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        long[] oldHighs = highs;
+        long[] oldLows = lows;
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+        highs = new long[capacity];
+        lows = new long[capacity];
+        values = new long[capacity];
+        used = new boolean[capacity];
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (!oldUsed[i]) continue;
+            int slot = find(oldHighs[i], oldLows[i]);
+            used[slot] = true;
+            highs[slot] = oldHighs[i];
+            lows[slot] = oldLows[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private static int hash(long high, long low) {
+        long h = (high ^ low) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -6,15 +6,27 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 
 /**
  * Represents a {@link Gui} that is able to contain animations.
  * <p>
- * Animations are defined as slots within the gui that change items on a timer.
+ * Animations are defined as slots within the gui that change items on a timer. Richer effects can be compiled into a
+ * {@link Timeline} once and played to every viewer.
  */
 public abstract class AnimatedGui extends Gui {
+    /**
+     * The amount of ticks between each check for animations whose viewer has left.
+     */
+    private static final long LEAK_CHECK_PERIOD = 20 * 30;
     /**
      * The animations within the gui.
      * <p>
@@ -27,6 +39,19 @@ public abstract class AnimatedGui extends Gui {
      * Integer.MAX_VALUE}.
      */
     private int addCount = 0;
+    /**
+     * The delayed animations that have not started yet, keyed by the id of the animation.
+     */
+    private final HashMap<Integer, Pending> pending = new HashMap<>();
+    /**
+     * The ticket of the periodic check for animations whose viewer has left; {@code null} while the gui has no
+     * animations.
+     */
+    private AnimationEngine.Ticket leakCheck;
+    /**
+     * The timelines being played within the gui. Each timeline is played to all of its viewers by a single playback.
+     */
+    private final HashMap<Timeline, Playback> playbacks = new HashMap<>();
 
     /**
      * Creates a new {@link AnimatedGui}.
@@ -101,8 +126,12 @@ public abstract class AnimatedGui extends Gui {
      */
     public int createDelayedAnimation(Player p, int[] slots, ItemStack from, ItemStack[] to, long period, long delay, boolean each) {
         int id = ++addCount;
-        Bukkit.getScheduler().scheduleSyncDelayedTask(plugin, () ->
-                buildAnimation(p, id, slots, from, to, period, each), delay);
+        AnimationEngine.Ticket ticket = AnimationEngine.get(plugin).schedule(() -> {
+            pending.remove(id);
+            buildAnimation(p, id, slots, from, to, period, each);
+        }, delay, 0L);
+        pending.put(id, new Pending(p.getUniqueId(), ticket));
+        startLeakCheck();
         return id;
     }
 
@@ -123,6 +152,7 @@ public abstract class AnimatedGui extends Gui {
         Animation animation = new Animation(this, p, id, slots, from, to, period, each);
         animations.put(id, animation);
         animation.start();
+        startLeakCheck();
         return id;
     }
 
@@ -138,22 +168,238 @@ public abstract class AnimatedGui extends Gui {
     }
 
     /**
-     * Removes and stops an animation in the gui.
+     * Removes and stops an animation in the gui. If the animation is delayed and has not started yet, it is cancelled.
      *
      * @param id The id of the animation.
      */
     public void removeAnimation(int id) {
-        Animation animation = animations.get(id);
-        animation.stop();
-        animations.remove(id);
+        Pending delayed = pending.remove(id);
+        if (delayed != null)
+            delayed.ticket().cancel();
+        Animation animation = animations.remove(id);
+        if (animation != null)
+            animation.stop();
     }
 
     /**
-     * Removes and stops all animations in the gui.
+     * Removes and stops all animations and timelines in the gui, for every viewer.
      */
     public void stopAnimations() {
+        pending.forEach((id, delayed) -> delayed.ticket().cancel());
+        pending.clear();
         animations.forEach((id, animation) -> animation.stop());
         animations.clear();
+        playbacks.forEach((timeline, playback) -> playback.ticket.cancel());
+        playbacks.clear();
+    }
+
+    /**
+     * Removes and stops all animations and timelines shown to a single player, including delayed animations that have
+     * not started yet. Animations are stopped automatically once the player closes the gui or leaves.
+     *
+     * @param p The player being shown the animations.
+     */
+    public void stopAnimations(Player p) {
+        stopAnimations(p.getUniqueId());
+    }
+
+    /**
+     * Removes and stops all animations and timelines shown to a player.
+     *
+     * @param viewer The unique id of the player.
+     */
+    private void stopAnimations(UUID viewer) {
+        pending.values().removeIf(delayed -> {
+            if (!delayed.viewer().equals(viewer))
+                return false;
+            delayed.ticket().cancel();
+            return true;
+        });
+        animations.values().removeIf(animation -> {
+            if (!animation.getPlayer().getUniqueId().equals(viewer))
+                return false;
+            animation.stop();
+            return true;
+        });
+        for (Playback playback : new ArrayList<>(playbacks.values())) {
+            playback.viewers.remove(viewer);
+            if (playback.viewers.isEmpty())
+                playback.stop();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Every animation shown to the player is stopped.
+     */
+    @Override
+    void sessionClosed(UUID id) {
+        stopAnimations(id);
+    }
+
+    /**
+     * Begins periodically checking for animations whose viewer has left, if not already checking.
+     */
+    private void startLeakCheck() {
+        if (leakCheck == null || leakCheck.isCancelled())
+            leakCheck = AnimationEngine.get(plugin).schedule(this::checkLeaks, LEAK_CHECK_PERIOD, LEAK_CHECK_PERIOD);
+    }
+
+    /**
+     * Stops and reports every animation whose viewer is offline or no longer has the gui open. The check stops once the
+     * gui has no animations.
+     */
+    private void checkLeaks() {
+        List<Animation> leaked = new ArrayList<>();
+        for (Animation animation : animations.values()) {
+            Player p = animation.getPlayer();
+            if (!p.isOnline() || getSession(p) == null)
+                leaked.add(animation);
+        }
+        for (Animation animation : leaked) {
+            plugin.getLogger().warning("Stopped animation " + animation.getAnimationId() + " of " + name
+                    + " whose viewer " + animation.getPlayer().getName() + " is no longer viewing it");
+            removeAnimation(animation.getAnimationId());
+        }
+        pending.values().removeIf(delayed -> {
+            Player p = Bukkit.getPlayer(delayed.viewer());
+            if (p != null && getSession(p) != null)
+                return false;
+            plugin.getLogger().warning("Cancelled a delayed animation of " + name + " whose viewer left");
+            delayed.ticket().cancel();
+            return true;
+        });
+        if (animations.isEmpty() && pending.isEmpty()) {
+            leakCheck.cancel();
+            leakCheck = null;
+        }
+    }
+
+    /**
+     * Represents a delayed animation that has not started yet.
+     *
+     * @param viewer The unique id of the player being shown the animation.
+     * @param ticket The ticket that starts the animation.
+     */
+    private record Pending(UUID viewer, AnimationEngine.Ticket ticket) {
+    }
+
+    /**
+     * Plays a {@link Timeline} to a player from its first frame.
+     *
+     * @param p        The player being shown the timeline.
+     * @param timeline The timeline to play.
+     * @see #playTimeline(Player, Timeline, int)
+     */
+    public void playTimeline(Player p, Timeline timeline) {
+        playTimeline(p, timeline, 0);
+    }
+
+    /**
+     * Plays a {@link Timeline} to a player. Every viewer of the same timeline shares a single playback, so each viewer
+     * only costs the changes of one frame per tick. If the timeline is already being played to the player, it is
+     * restarted with the new phase.
+     * <p>
+     * A timeline that does not loop stops for a player once its last frame has been played.
+     * <p>
+     * Within a shared view, every viewer of the shared inventory sees the same slots, so the phase is ignored: the
+     * frames are applied to the shared inventory once per tick, counted from when the playback of the timeline began.
+     *
+     * @param p        The player being shown the timeline.
+     * @param timeline The timeline to play.
+     * @param phase    The frame to begin on. A negative phase delays the timeline by that many ticks.
+     * @see #setSharedView(boolean)
+     */
+    public void playTimeline(Player p, Timeline timeline, int phase) {
+        Playback playback = playbacks.get(timeline);
+        if (playback == null) {
+            playback = new Playback(timeline);
+            playbacks.put(timeline, playback);
+        }
+        // The first frame of the viewer is played on the next tick of the playback
+        long offset = isSharedView() ? -1 : phase - playback.tick - 1;
+        playback.viewers.put(p.getUniqueId(), new Viewer(p, offset));
+    }
+
+    /**
+     * Stops a {@link Timeline} for a player. The slots are left as they were on the last frame played.
+     *
+     * @param p        The player being shown the timeline.
+     * @param timeline The timeline to stop.
+     */
+    public void stopTimeline(Player p, Timeline timeline) {
+        Playback playback = playbacks.get(timeline);
+        if (playback == null) return;
+        playback.viewers.remove(p.getUniqueId());
+        if (playback.viewers.isEmpty())
+            playback.stop();
+    }
+
+    /**
+     * Represents a player being shown a {@link Timeline}.
+     *
+     * @param p      The player being shown the timeline.
+     * @param offset The difference between the frame of the player and the tick of the playback.
+     */
+    private record Viewer(Player p, long offset) {
+    }
+
+    /**
+     * Plays a {@link Timeline} to all of its viewers within the gui.
+     */
+    private final class Playback {
+        private final Timeline timeline;
+        private final LinkedHashMap<UUID, Viewer> viewers = new LinkedHashMap<>();
+        private final AnimationEngine.Ticket ticket;
+        /**
+         * The sessions a frame was applied to during the current tick, so that a session shared by several viewers is
+         * only animated once.
+         */
+        private final Set<GuiSession> played = Collections.newSetFromMap(new IdentityHashMap<>());
+        /**
+         * The amount of ticks the playback has run for.
+         */
+        private long tick = 0;
+
+        private Playback(Timeline timeline) {
+            this.timeline = timeline;
+            this.ticket = AnimationEngine.get(plugin).schedule(this::tick, 1L, 1L);
+        }
+
+        /**
+         * Plays the current frame of every viewer.
+         */
+        private void tick() {
+            long start = System.nanoTime();
+            tick++;
+            Iterator<Viewer> iterator = viewers.values().iterator();
+            while (iterator.hasNext()) {
+                Viewer viewer = iterator.next();
+                GuiSession session = getSession(viewer.p());
+                long frame = tick + viewer.offset();
+                // The viewer closed the gui or the timeline has completed
+                if (session == null || (!timeline.isLooping() && frame >= timeline.getLength())) {
+                    iterator.remove();
+                    continue;
+                }
+                if (frame < 0 || !played.add(session))
+                    continue;
+                timeline.apply(session, (int) (frame % timeline.getLength()));
+            }
+            played.clear();
+            if (viewers.isEmpty())
+                stop();
+            getMetrics().getAnimationTime().recordSince(start);
+        }
+
+        /**
+         * Stops the playback once it has no viewers.
+         */
+        private void stop() {
+            ticket.cancel();
+            playbacks.remove(timeline);
+        }
     }
 
     /**
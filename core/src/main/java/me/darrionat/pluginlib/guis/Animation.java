@@ -1,7 +1,6 @@
 package me.darrionat.pluginlib.guis;
 
 import me.darrionat.pluginlib.Plugin;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
@@ -11,6 +10,11 @@ import java.util.Objects;
  * Represents a series of actions that are taken within an {@link AnimatedGui} based upon instructions.
  * <p>
  * An animation can vary in speed, items, slots, and more.
+ * <p>
+ * Frames are placed through {@link Gui#createItem(Player, ItemStack, int)} and only shown to the player of the
+ * animation. Within a shared view, this moves the player onto their own copy of the shared inventory.
+ *
+ * @see Gui#setSharedView(boolean)
  */
 public class Animation {
     /**
@@ -51,9 +55,9 @@ public class Animation {
     private final boolean each;
 
     /**
-     * The id of the task running the animation.
+     * The ticket of the animation within the {@link AnimationEngine}; {@code null} while not running.
      */
-    private int taskId = -1;
+    private AnimationEngine.Ticket ticket;
     /**
      * Used for iterating slots.
      */
@@ -132,21 +136,22 @@ public class Animation {
     /**
      * Starts the animation within the {@link AnimatedGui}.
      * <p>
-     * No action is taken if the animation is already running.
+     * No action is taken if the animation is already running. The animation is run on the main thread by the {@link
+     * AnimationEngine} of the plugin.
      *
      * @see #running()
      * @see #stop()
      */
-    @SuppressWarnings({"deprecation"})
     public void start() {
         if (running()) return;
-        taskId = Bukkit.getScheduler().scheduleAsyncRepeatingTask(plugin, this::animate, 0L, period);
+        ticket = AnimationEngine.get(plugin).schedule(this::animate, 0L, Math.max(1L, period));
     }
 
     /**
      * Changes the slots of the animation and handles item cycling.
      */
     private void animate() {
+        long start = System.nanoTime();
         // New item
         ItemStack item;
         if (currSlot == 0 && !each)
@@ -157,6 +162,7 @@ public class Animation {
         gui.createItem(p, from, currentSlot());
         // Set new slot
         gui.createItem(p, item, nextSlot());
+        gui.getMetrics().getAnimationTime().recordSince(start);
     }
 
     /**
@@ -211,8 +217,8 @@ public class Animation {
      */
     public void stop() {
         if (!running()) return;
-        Bukkit.getScheduler().cancelTask(taskId);
-        taskId = -1;
+        ticket.cancel();
+        ticket = null;
         for (int slot : slots)
             gui.createItem(p, from, slot);
     }
@@ -223,6 +229,6 @@ public class Animation {
      * @return Returns {@code true} if the animation is currently running; {@code false} otherwise.
      */
     public boolean running() {
-        return taskId != -1;
+        return ticket != null && !ticket.isCancelled();
     }
 }
\ No newline at end of file
@@ -0,0 +1,196 @@
+package me.darrionat.pluginlib.guis;
+
+import me.darrionat.pluginlib.Plugin;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Runs every {@link Animation} of a {@link Plugin} from a single task on the main thread.
+ * <p>
+ * Scheduled actions are kept within a timing wheel keyed by the tick they next run on. Each tick only the actions
+ * within the current slot of the wheel are visited, and every action due on that tick is run within the same task.
+ * Because of this, the scheduler overhead is constant regardless of the amount of running animations, and all
+ * inventories are modified on the main thread.
+ * <p>
+ * The engine task only runs while actions are scheduled. The engine should only be used on the main thread.
+ */
+public class AnimationEngine {
+    /**
+     * The amount of slots within the wheel. This must be a power of two.
+     */
+    private static final int WHEEL_SIZE = 256;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static AnimationEngine instance;
+
+    private final Plugin plugin;
+    /**
+     * The slots of the timing wheel. An action that runs on tick {@code t} is within slot {@code t & WHEEL_MASK}.
+     */
+    private final List<List<Ticket>> wheel = new ArrayList<>(WHEEL_SIZE);
+    /**
+     * The actions due on the current tick.
+     */
+    private final List<Ticket> due = new ArrayList<>();
+    /**
+     * The current tick of the engine.
+     */
+    private long tick = 0;
+    /**
+     * The amount of scheduled actions that have not been cancelled.
+     */
+    private int active = 0;
+    private BukkitTask task;
+
+    private AnimationEngine(Plugin plugin) {
+        this.plugin = plugin;
+        for (int i = 0; i < WHEEL_SIZE; i++)
+            wheel.add(new ArrayList<>());
+    }
+
+    /**
+     * Gets the animation engine of a plugin.
+     *
+     * @param plugin The plugin running the animations.
+     * @return The engine of the plugin.
+     */
+    public static AnimationEngine get(Plugin plugin) {
+        if (instance == null || instance.plugin != plugin)
+            instance = new AnimationEngine(plugin);
+        return instance;
+    }
+
+    /**
+     * Schedules an action to be run by the engine.
+     *
+     * @param action The action to run.
+     * @param delay  The amount of ticks to wait before first running the action. Values below {@code 1} run the
+     *               action on the next tick.
+     * @param period The amount of ticks between each run of the action. If {@code 0} or less, the action is only run
+     *               once.
+     * @return The ticket of the scheduled action, used to cancel it.
+     */
+    public Ticket schedule(Runnable action, long delay, long period) {
+        Ticket ticket = new Ticket(this, action, Math.max(0, period));
+        ticket.nextTick = tick + Math.max(1, delay);
+        insert(ticket);
+        active++;
+        if (task == null)
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        return ticket;
+    }
+
+    /**
+     * Gets the amount of actions currently scheduled.
+     *
+     * @return The amount of scheduled actions that have not been cancelled or completed.
+     */
+    public int getActiveCount() {
+        return active;
+    }
+
+    /**
+     * Places a ticket within the slot of the wheel for the tick it next runs on.
+     *
+     * @param ticket The ticket to place.
+     */
+    private void insert(Ticket ticket) {
+        wheel.get((int) (ticket.nextTick & WHEEL_MASK)).add(ticket);
+    }
+
+    /**
+     * Runs every action due on the next tick.
+     */
+    private void tick() {
+        tick++;
+        List<Ticket> slot = wheel.get((int) (tick & WHEEL_MASK));
+        // Actions further than a full rotation away stay within the slot
+        for (int i = slot.size() - 1; i >= 0; i--) {
+            Ticket ticket = slot.get(i);
+            if (!ticket.cancelled && ticket.nextTick > tick)
+                continue;
+            // Swap remove, the order within a slot does not matter
+            slot.set(i, slot.get(slot.size() - 1));
+            slot.remove(slot.size() - 1);
+            if (!ticket.cancelled)
+                due.add(ticket);
+        }
+
+        for (Ticket ticket : due) {
+            // An earlier action this tick may have cancelled this one
+            if (ticket.cancelled)
+                continue;
+            try {
+                ticket.action.run();
+            } catch (RuntimeException e) {
+                plugin.getLogger().log(Level.WARNING, "An animation threw an exception and was cancelled", e);
+                ticket.cancel();
+                continue;
+            }
+            if (ticket.cancelled)
+                continue;
+            if (ticket.period > 0) {
+                ticket.nextTick = tick + ticket.period;
+                insert(ticket);
+            } else {
+                ticket.cancel();
+            }
+        }
+        due.clear();
+
+        if (active == 0)
+            stop();
+    }
+
+    /**
+     * Stops the engine task. Only cancelled tickets can remain within the wheel at this point, so they are discarded.
+     */
+    private void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        wheel.forEach(List::clear);
+    }
+
+    /**
+     * Represents an action scheduled within an {@link AnimationEngine}.
+     */
+    public static final class Ticket {
+        private final AnimationEngine engine;
+        private final Runnable action;
+        private final long period;
+        /**
+         * The tick of the engine that the action next runs on.
+         */
+        private long nextTick;
+        private boolean cancelled = false;
+
+        private Ticket(AnimationEngine engine, Runnable action, long period) {
+            this.engine = engine;
+            this.action = action;
+            this.period = period;
+        }
+
+        /**
+         * Cancels the action. No action is taken if the action was already cancelled or has completed.
+         */
+        public void cancel() {
+            if (cancelled) return;
+            cancelled = true;
+            engine.active--;
+        }
+
+        /**
+         * Determines if the action has been cancelled or has completed.
+         *
+         * @return Returns {@code true} if the action will not be run again; {@code false} otherwise.
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package me.darrionat.pluginlib.guis;
+
+import me.darrionat.pluginlib.Plugin;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+
+/**
+ * Represents a {@link Gui} whose contents are loaded asynchronously, such as from a database or a file.
+ * <p>
+ * The gui is opened immediately with the placeholder items of {@link #getPlaceholders(Player)}. Once the contents of
+ * the viewer have loaded, they are applied on the main thread through {@link #applyContents(Player, Object)}. Results
+ * are dropped if the viewer closed the gui or a newer load was started before they arrived, so slow loads never
+ * overwrite newer contents.
+ *
+ * @param <T> The type of the loaded contents.
+ */
+public abstract class AsyncGui<T> extends Gui {
+    /**
+     * The amount of milliseconds to wait for contents before the load fails.
+     */
+    private long loadTimeout = 5000;
+
+    /**
+     * Creates a new {@link AsyncGui}.
+     *
+     * @param plugin The plugin that this gui belongs to.
+     * @param name   The title of the gui.
+     * @param rows   The amount of rows the {@link Inventory} will have.
+     */
+    public AsyncGui(Plugin plugin, String name, int rows) {
+        super(plugin, name, rows);
+    }
+
+    /**
+     * Begins loading the contents shown to a player. This is ran on the main thread and should not block; the work
+     * itself should be done on another thread.
+     *
+     * @param p The player that is opening the {@link Gui}.
+     * @return A future that completes with the contents of the player.
+     */
+    protected abstract CompletableFuture<T> loadContents(Player p);
+
+    /**
+     * Places the items shown while the contents of a player are loading.
+     *
+     * @param p The player that is opening the {@link Gui}.
+     */
+    protected abstract void getPlaceholders(Player p);
+
+    /**
+     * Places the items of the loaded contents of a player. This is always ran on the main thread.
+     *
+     * @param p        The player viewing the {@link Gui}.
+     * @param contents The contents loaded for the player.
+     */
+    protected abstract void applyContents(Player p, T contents);
+
+    /**
+     * Ran on the main thread when the contents of a player failed to load or did not load in time. By default, the
+     * failure is logged and the placeholders remain.
+     *
+     * @param p     The player viewing the {@link Gui}.
+     * @param error The reason the load failed; a {@link TimeoutException} if the load did not complete in time.
+     */
+    protected void loadFailed(Player p, Throwable error) {
+        plugin.getLogger().log(Level.WARNING, "Failed to load the contents of " + name + " for " + p.getName(), error);
+    }
+
+    /**
+     * Sets the amount of milliseconds to wait for contents before the load fails. Set to {@code 5000} by default.
+     *
+     * @param loadTimeout The timeout of each load in milliseconds.
+     */
+    public void setLoadTimeout(long loadTimeout) {
+        this.loadTimeout = Math.max(1, loadTimeout);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The inventory is returned immediately and the contents of the player begin loading.
+     */
+    @Override
+    public Inventory getInventory(Player p) {
+        Inventory inventory = super.getInventory(p);
+        reload(p);
+        return inventory;
+    }
+
+    /**
+     * Loads the contents of a player that has the gui open again. The result of any load already in progress is
+     * dropped. No action is taken if the player has not been shown this gui.
+     *
+     * @param p The player viewing the gui.
+     */
+    public void reload(Player p) {
+        GuiSession session = getSession(p);
+        if (session == null) return;
+        int load = session.beginLoad();
+        CompletableFuture<T> future;
+        try {
+            future = loadContents(p);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        // Copied so that the timeout does not complete a future the gui may share between players
+        future.copy().orTimeout(loadTimeout, TimeUnit.MILLISECONDS).whenComplete((contents, error) -> {
+            if (Bukkit.isPrimaryThread())
+                complete(p, session, load, contents, error);
+            else
+                Bukkit.getScheduler().runTask(plugin, () -> complete(p, session, load, contents, error));
+        });
+    }
+
+    /**
+     * Applies the result of a load if it is not stale.
+     *
+     * @param p        The player viewing the gui.
+     * @param session  The session the load was started for.
+     * @param load     The id of the load.
+     * @param contents The loaded contents; {@code null} if the load failed.
+     * @param error    The reason the load failed; {@code null} if the load succeeded.
+     */
+    private void complete(Player p, GuiSession session, int load, T contents, Throwable error) {
+        // The player closed the gui or a newer load has begun
+        if (getSession(p) != session || !session.isCurrentLoad(load))
+            return;
+        if (error != null) {
+            loadFailed(p, error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            return;
+        }
+        session.setLoaded(contents);
+        refresh(p);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The placeholders are placed first, followed by the loaded contents of the player if they have loaded.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected final void getContents(Player p) {
+        getPlaceholders(p);
+        GuiSession session = getSession(p);
+        if (session != null && session.getLoaded() != null)
+            applyContents(p, (T) session.getLoaded());
+    }
+}
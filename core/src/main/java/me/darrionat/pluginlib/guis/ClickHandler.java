@@ -0,0 +1,22 @@
+package me.darrionat.pluginlib.guis;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+
+/**
+ * Represents the action ran when a slot of a {@link Gui} is clicked.
+ *
+ * @see Gui#setHandler(int, ClickHandler, ClickType...)
+ * @see Gui#setAsyncHandler(int, ClickHandler, ClickType...)
+ */
+@FunctionalInterface
+public interface ClickHandler {
+    /**
+     * Ran when a {@link Player} has clicked the slot of the handler.
+     *
+     * @param p         The Player who clicked.
+     * @param slot      The slot the player clicked.
+     * @param clickType The type of click done by the player.
+     */
+    void onClick(Player p, int slot, ClickType clickType);
+}
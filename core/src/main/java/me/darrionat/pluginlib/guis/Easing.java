@@ -0,0 +1,40 @@
+package me.darrionat.pluginlib.guis;
+
+/**
+ * Represents how the progress of a movement within a {@link Timeline} changes over time.
+ *
+ * @see TimelineBuilder
+ */
+public enum Easing {
+    /**
+     * Moves at a constant speed.
+     */
+    LINEAR,
+    /**
+     * Starts slow and speeds up.
+     */
+    EASE_IN,
+    /**
+     * Starts fast and slows down.
+     */
+    EASE_OUT,
+    /**
+     * Starts slow, speeds up, and slows down again.
+     */
+    EASE_IN_OUT;
+
+    /**
+     * Applies the easing to the progress of a movement.
+     *
+     * @param t The linear progress of the movement, between {@code 0} and {@code 1}.
+     * @return The eased progress of the movement, between {@code 0} and {@code 1}.
+     */
+    public double apply(double t) {
+        return switch (this) {
+            case LINEAR -> t;
+            case EASE_IN -> t * t;
+            case EASE_OUT -> t * (2 - t);
+            case EASE_IN_OUT -> t < 0.5 ? 2 * t * t : -1 + (4 - 2 * t) * t;
+        };
+    }
+}
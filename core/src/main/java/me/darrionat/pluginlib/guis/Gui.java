@@ -9,14 +9,33 @@ import org.bukkit.event.inventory.ClickType;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
 
 /**
  * Represents an {@link Inventory} that is displayed to a player.
+ * <p>
+ * Every inventory created by a gui is held by a {@link GuiHolder}, which is how events are dispatched to the gui.
+ * <p>
+ * Each viewer is shown their own inventory. Rendering only places items into the slots whose item differs from what
+ * the viewer was last sent, so live-updating guis should call {@link #refresh(int)} or {@link #refresh(Player)}
+ * instead of reopening the gui.
+ * <p>
+ * Guis that show the same contents to every viewer are able to use a shared view, where every viewer is shown a single
+ * inventory. See {@link #setSharedView(boolean)}.
  */
 public abstract class Gui {
+    /**
+     * The maximum amount of items kept within the item cache of a gui.
+     */
+    private static final int ITEM_CACHE_SIZE = 128;
     /**
      * The plugin that this belongs to.
      */
@@ -34,14 +53,55 @@ public abstract class Gui {
      */
     protected final int size;
     /**
-     * A map of players and the inventories they are shown.
+     * The sessions of the players currently shown this gui, keyed by their unique id.
+     * <p>
+     * Sessions are removed once the player closes the gui or leaves, so this only holds currently open guis.
+     */
+    private final HashMap<UUID, GuiSession> sessions = new HashMap<>();
+    /**
+     * Inventories of closed sessions that are kept for reuse.
+     */
+    private final ArrayDeque<Inventory> inventoryPool = new ArrayDeque<>();
+    /**
+     * The maximum amount of inventories kept for reuse.
+     */
+    private int inventoryPoolSize = 0;
+    /**
+     * The items built by {@code createItem}, with the least recently used first. Guis render the same items for every
+     * viewer, so each item is only built and colorized once.
      */
-    private final HashMap<Player, Inventory> byPlayer = new HashMap<>();
+    private final LinkedHashMap<ItemKey, ItemStack> itemCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ItemKey, ItemStack> eldest) {
+            return size() > ITEM_CACHE_SIZE;
+        }
+    };
     /**
      * Determines if a {@link Player} who clicks within the {@link Gui} is able to take items out of the displayed
      * inventory.
      */
     private boolean allowClick = false;
+    /**
+     * The handler of each slot; {@code null} for slots without a handler.
+     */
+    private final SlotHandler[] handlers;
+    /**
+     * The amount of milliseconds that must pass between clicks on a slot with a handler, per player.
+     */
+    private long clickCooldown = 0;
+    /**
+     * The performance metrics of this gui.
+     */
+    private final GuiMetrics metrics = new GuiMetrics();
+    /**
+     * Determines if viewers are shown a single shared inventory.
+     */
+    private boolean sharedView = false;
+    /**
+     * The session of the shared inventory, which every viewer without an overlay maps to; {@code null} until the gui
+     * is first opened in a shared view.
+     */
+    private GuiSession shared;
 
     /**
      * Creates a new {@link Gui}.
@@ -56,10 +116,24 @@ public abstract class Gui {
         if (name.length() > 32)
             name = name.substring(0, 31);
         this.name = name;
-        inv = Bukkit.createInventory(null, size, name);
+        this.handlers = new SlotHandler[size];
+        inv = createInventory();
         plugin.getGuiHandler().registerGui(this);
     }
 
+    /**
+     * Creates a new empty {@link Inventory} that is held by this gui.
+     *
+     * @return The created inventory.
+     * @see GuiHolder
+     */
+    private Inventory createInventory() {
+        GuiHolder holder = new GuiHolder(this);
+        Inventory inventory = Bukkit.createInventory(holder, size, name);
+        holder.setInventory(inventory);
+        return inventory;
+    }
+
     /**
      * Gets the title of the {@link Inventory}.
      *
@@ -90,24 +164,380 @@ public abstract class Gui {
         return allowClick;
     }
 
+    /**
+     * Sets the amount of milliseconds that must pass between clicks by a player on a slot with a handler. Clicks within
+     * the cooldown are ignored. Set to {@code 0} by default.
+     *
+     * @param clickCooldown The cooldown of each slot in milliseconds.
+     * @see #setHandler(int, ClickHandler, ClickType...)
+     */
+    public void setClickCooldown(long clickCooldown) {
+        this.clickCooldown = Math.max(0, clickCooldown);
+    }
+
+    /**
+     * Sets the handler ran on the main thread when a slot is clicked. Clicks on a slot with a handler are not passed to
+     * {@link #clicked(Player, int, ClickType)}.
+     *
+     * @param slot       The slot of the handler.
+     * @param handler    The handler to run.
+     * @param clickTypes The types of clicks the handler is ran for. If none are given, the handler is ran for every
+     *                   type of click.
+     */
+    public void setHandler(int slot, ClickHandler handler, ClickType... clickTypes) {
+        handlers[slot] = new SlotHandler(handler, clickMask(clickTypes), false);
+    }
+
+    /**
+     * Sets the handler ran asynchronously when a slot is clicked. Clicks on the slot by a player are ignored until the
+     * handler previously ran for that player has completed. Clicks on a slot with a handler are not passed to {@link
+     * #clicked(Player, int, ClickType)}.
+     *
+     * @param slot       The slot of the handler.
+     * @param handler    The handler to run. The handler is not ran on the main thread.
+     * @param clickTypes The types of clicks the handler is ran for. If none are given, the handler is ran for every
+     *                   type of click.
+     */
+    public void setAsyncHandler(int slot, ClickHandler handler, ClickType... clickTypes) {
+        handlers[slot] = new SlotHandler(handler, clickMask(clickTypes), true);
+    }
+
+    /**
+     * Removes the handler of a slot, passing clicks on the slot to {@link #clicked(Player, int, ClickType)} again.
+     *
+     * @param slot The slot of the handler.
+     */
+    public void removeHandler(int slot) {
+        handlers[slot] = null;
+    }
+
+    /**
+     * Creates a bit mask of click types.
+     *
+     * @param clickTypes The types of clicks.
+     * @return The mask with the bit of each click type set; every bit set if no types are given.
+     */
+    private static long clickMask(ClickType... clickTypes) {
+        if (clickTypes.length == 0)
+            return -1L;
+        long mask = 0;
+        for (ClickType clickType : clickTypes)
+            mask |= 1L << clickType.ordinal();
+        return mask;
+    }
+
+    /**
+     * Passes a click to the handler of its slot, or to {@link #clicked(Player, int, ClickType)} if the slot has no
+     * handler for the type of click.
+     *
+     * @param p         The Player who clicked.
+     * @param slot      The slot the player clicked.
+     * @param clickType The type of click done by the player.
+     */
+    void dispatchClick(Player p, int slot, ClickType clickType) {
+        SlotHandler handler = slot >= 0 && slot < handlers.length ? handlers[slot] : null;
+        long start = System.nanoTime();
+        if (handler == null || (handler.clickMask & 1L << clickType.ordinal()) == 0) {
+            clicked(p, slot, clickType);
+            metrics.getClickTime().recordSince(start);
+            return;
+        }
+        GuiSession session = getSession(p);
+        if (session == null || !session.tryClick(slot, System.currentTimeMillis(), clickCooldown))
+            return;
+        if (!handler.async) {
+            handler.handler.onClick(p, slot, clickType);
+            metrics.getClickTime().recordSince(start);
+            return;
+        }
+        session.setInFlight(slot, true);
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            long asyncStart = System.nanoTime();
+            try {
+                handler.handler.onClick(p, slot, clickType);
+                metrics.getClickTime().recordSince(asyncStart);
+            } catch (RuntimeException e) {
+                plugin.getLogger().log(Level.WARNING, "A click handler of " + name + " threw an exception", e);
+            } finally {
+                Bukkit.getScheduler().runTask(plugin, () -> session.setInFlight(slot, false));
+            }
+        });
+    }
+
     /**
      * Gets a copy of the Inventory
+     * <p>
+     * If the player has already been shown the inventory, only the slots that changed since it was last rendered are
+     * updated.
      *
      * @param p The player the inventory is being displayed to.
      * @return Returns a copy of the Inventory.
      */
     public Inventory getInventory(Player p) {
-        Inventory toReturn = Bukkit.createInventory(null, size, name);
-        if (byPlayer.containsKey(p)) {
-            // Update player's inventory
-            toReturn = byPlayer.get(p);
-        } else {
-            // Set player's inventory
-            byPlayer.put(p, toReturn);
+        GuiSession session = getSession(p);
+        if (session == null) {
+            session = sharedView ? getSharedSession() : newSession();
+            sessions.put(p.getUniqueId(), session);
+        }
+        timedContents(p);
+        // Placing an item for the player within a shared view moves them onto their own copy
+        session = getSession(p);
+        render(session);
+        return session.getInventory();
+    }
+
+    /**
+     * Renders the {@link Gui} again for a player that has it open, only updating the slots whose item changed.
+     * <p>
+     * No action is taken if the player has not been shown this gui.
+     *
+     * @param p The player viewing the gui.
+     */
+    public void refresh(Player p) {
+        GuiSession session = getSession(p);
+        if (session == null) return;
+        timedContents(p);
+        render(session);
+    }
+
+    /**
+     * Renders the {@link Gui} again for every player that has it open, only updating the slots whose item changed.
+     * <p>
+     * Within a shared view, the contents are gotten once for every viewer of the shared inventory and rendered once.
+     * Only the viewers moved onto their own copy have their contents gotten individually, to place their overlays.
+     */
+    public void refresh() {
+        if (!sharedView) {
+            for (UUID id : new ArrayList<>(sessions.keySet())) {
+                Player p = Bukkit.getPlayer(id);
+                if (p != null)
+                    refresh(p);
+            }
+            return;
+        }
+        boolean gotContents = false;
+        for (Map.Entry<UUID, GuiSession> entry : new ArrayList<>(sessions.entrySet())) {
+            // Every viewer of the shared inventory is shown the same contents
+            if (gotContents && entry.getValue() == shared)
+                continue;
+            Player p = Bukkit.getPlayer(entry.getKey());
+            if (p == null)
+                continue;
+            timedContents(p);
+            gotContents = true;
+        }
+        if (gotContents)
+            render(getSharedSession());
+    }
+
+    /**
+     * Sends a single slot of the {@link Gui} to every player that has it open. Only the players who were last sent a
+     * different item are updated.
+     *
+     * @param slot The slot to send.
+     */
+    public void refresh(int slot) {
+        ItemStack item = inv.getItem(slot);
+        // The shared inventory is updated once for all of its viewers
+        if (shared != null)
+            shared.setItem(slot, item);
+        for (GuiSession session : sessions.values())
+            if (session != shared && !session.isOverlay(slot))
+                session.setItem(slot, item);
+    }
+
+    /**
+     * Determines if every viewer is shown a single shared inventory instead of their own copy. Set to {@code false} by
+     * default.
+     * <p>
+     * In a shared view, {@link #getContents(Player)} should only place items that are the same for every viewer, since
+     * they are placed into the shared inventory. Items placed for a single player through {@link #createItem(Player,
+     * ItemStack, int)} become an overlay: Bukkit shows an inventory identically to all of its viewers, so that player is
+     * moved onto their own copy of the shared inventory, which continues to receive updates to every slot without an
+     * overlay. Viewers without overlays cost nothing per update. Clicking should not be allowed within a shared view.
+     * <p>
+     * The frames of an {@link Animation} are placed for its single player, so every viewer of an animation is moved
+     * onto their own copy as well. A {@link Timeline} played within an {@link AnimatedGui} animates the shared
+     * inventory once for all of its viewers instead, which are then all shown the same frame.
+     *
+     * @param sharedView Whether to show viewers a shared inventory or not.
+     * @throws IllegalStateException Thrown when the gui is currently shown to players.
+     */
+    public void setSharedView(boolean sharedView) {
+        if (!sessions.isEmpty())
+            throw new IllegalStateException("The view of a gui cannot change while it is open");
+        this.sharedView = sharedView;
+        this.shared = null;
+    }
+
+    /**
+     * Checks to see if every viewer is shown a single shared inventory.
+     *
+     * @return Returns {@code true} if the gui uses a shared view; {@code false} otherwise.
+     * @see #setSharedView(boolean)
+     */
+    public boolean isSharedView() {
+        return sharedView;
+    }
+
+    /**
+     * Removes an overlay of a player within a shared view, showing the shared item within the slot again. The player
+     * remains on their own copy of the inventory.
+     *
+     * @param p    The player viewing the gui.
+     * @param slot The slot of the overlay.
+     */
+    public void removeOverlay(Player p, int slot) {
+        GuiSession session = getSession(p);
+        if (session == null || session == shared || !session.isOverlay(slot))
+            return;
+        session.setOverlay(slot, false);
+        session.setItem(slot, shared == null ? null : shared.getInventory().getItem(slot));
+    }
+
+    /**
+     * Creates a new session for a single viewer, reusing a pooled inventory if possible.
+     *
+     * @return The created session.
+     */
+    private GuiSession newSession() {
+        Inventory inventory = inventoryPool.poll();
+        return new GuiSession(inventory == null ? createInventory() : inventory, metrics);
+    }
+
+    /**
+     * Gets the session of the shared inventory, creating it if needed.
+     *
+     * @return The shared session.
+     */
+    private GuiSession getSharedSession() {
+        if (shared == null)
+            shared = new GuiSession(createInventory(), metrics);
+        return shared;
+    }
+
+    /**
+     * Moves a player of a shared view onto their own copy of the shared inventory, so that overlays can be placed.
+     *
+     * @param p The player viewing the gui.
+     * @return The session of the copy.
+     */
+    private GuiSession fork(Player p) {
+        GuiSession session = newSession();
+        session.render(shared.getInventory().getContents());
+        sessions.put(p.getUniqueId(), session);
+        if (p.getOpenInventory().getTopInventory().equals(shared.getInventory()))
+            p.openInventory(session.getInventory());
+        return session;
+    }
+
+    /**
+     * Renders the contents of the gui to a session. Within a shared view, the contents are rendered to the shared
+     * inventory and every copy of it instead.
+     *
+     * @param session The session of the player whose contents were gotten.
+     */
+    private void render(GuiSession session) {
+        ItemStack[] contents = inv.getContents();
+        if (!sharedView) {
+            session.render(contents);
+            return;
         }
+        getSharedSession().render(contents);
+        for (GuiSession copy : sessions.values())
+            if (copy != shared)
+                copy.render(contents);
+    }
+
+    /**
+     * Runs {@link #getContents(Player)} and records how long it took.
+     *
+     * @param p The player that is opening the {@link Gui}.
+     */
+    private void timedContents(Player p) {
+        long start = System.nanoTime();
         getContents(p);
-        toReturn.setContents(inv.getContents());
-        return toReturn;
+        metrics.getContentsTime().recordSince(start);
+    }
+
+    /**
+     * Gets the performance metrics of this gui.
+     *
+     * @return The metrics of the gui.
+     */
+    public GuiMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Gets the session of a player currently shown this gui.
+     *
+     * @param p The player viewing the gui.
+     * @return The session of the player; {@code null} if the player is not shown this gui.
+     */
+    GuiSession getSession(Player p) {
+        return sessions.get(p.getUniqueId());
+    }
+
+    /**
+     * Ends the session of a player that is no longer shown this gui. If pooling is enabled, the inventory of the session
+     * is cleared and kept for reuse.
+     *
+     * @param id The unique id of the player.
+     * @see #setInventoryPoolSize(int)
+     */
+    void closeSession(UUID id) {
+        GuiSession session = sessions.remove(id);
+        if (session != null)
+            sessionClosed(id);
+        // The shared inventory is kept for the next viewer
+        if (session == null || session == shared || inventoryPool.size() >= inventoryPoolSize)
+            return;
+        Inventory inventory = session.getInventory();
+        inventory.clear();
+        inventoryPool.push(inventory);
+    }
+
+    /**
+     * Ran once the session of a player has ended, so that anything shown only to that player can be torn down.
+     *
+     * @param id The unique id of the player.
+     */
+    void sessionClosed(UUID id) {
+    }
+
+    /**
+     * Gets the amount of players currently shown this gui.
+     *
+     * @return The amount of live sessions.
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Sets the maximum amount of inventories kept for reuse once players close this gui. Every inventory of a gui has
+     * the same size and title, so a pooled inventory can be shown to any player. Set to {@code 0} by default.
+     *
+     * @param poolSize The maximum amount of idle inventories to keep.
+     */
+    public void setInventoryPoolSize(int poolSize) {
+        this.inventoryPoolSize = Math.max(0, poolSize);
+        while (inventoryPool.size() > inventoryPoolSize)
+            inventoryPool.pop();
+    }
+
+    /**
+     * Marks every slot shown to a player as changed, so that the next render sends every slot. This should be ran when
+     * the player has changed the inventory themselves.
+     *
+     * @param p The player viewing the gui.
+     * @see #allowsClick()
+     */
+    void invalidate(Player p) {
+        GuiSession session = getSession(p);
+        if (session != null)
+            session.invalidate();
     }
 
     /**
@@ -120,11 +550,7 @@ public abstract class Gui {
      * @param loreString The lines of the lore of the item.
      */
     public void createItem(XMaterial material, int amount, int invSlot, String name, String... loreString) {
-        List<String> lore = new ArrayList<>();
-        for (String s : loreString) {
-            lore.add(Utils.toColor(s));
-        }
-        createItem(material, amount, invSlot, name, lore);
+        createItem(buildItem(material, amount, name, Arrays.asList(loreString), true), invSlot);
     }
 
     /**
@@ -138,7 +564,7 @@ public abstract class Gui {
      * @return Returns the item placed within the {@link Gui}.
      */
     public ItemStack createItem(XMaterial material, int amount, int invSlot, String name, List<String> lore) {
-        return createItem(Utils.buildItem(material, amount, name, lore), invSlot);
+        return createItem(buildItem(material, amount, name, lore, false), invSlot);
     }
 
     /**
@@ -153,19 +579,30 @@ public abstract class Gui {
      * @return Returns the item placed directly into the player's {@link Gui}.
      */
     public ItemStack createItem(Player p, XMaterial material, int amount, int invSlot, String name, List<String> lore) {
-        return createItem(byPlayer.get(p), Utils.buildItem(material, amount, name, lore), invSlot);
+        return createItem(p, buildItem(material, amount, name, lore, false), invSlot);
     }
 
     /**
      * Creates an item and places it directly into a player's instance of a {@link Gui}.
+     * <p>
+     * Within a shared view, the item becomes an overlay of the player.
      *
      * @param item    The item to place within the inventory.
      * @param p       The player with the open gui.
      * @param invSlot The slot for the item to go into.
      * @return Returns the item placed directly into the player's {@link Gui}.
+     * @see #setSharedView(boolean)
      */
     public ItemStack createItem(Player p, ItemStack item, int invSlot) {
-        return createItem(byPlayer.get(p), item, invSlot);
+        GuiSession session = getSession(p);
+        if (session == null)
+            return item;
+        if (session == shared)
+            session = fork(p);
+        if (sharedView)
+            session.setOverlay(invSlot, true);
+        session.setItem(invSlot, item);
+        return item;
     }
 
     /**
@@ -176,20 +613,35 @@ public abstract class Gui {
      * @return Returns the item placed within the {@link Gui}.
      */
     public ItemStack createItem(ItemStack item, int invSlot) {
-        return createItem(this.inv, item, invSlot);
+        inv.setItem(invSlot, item);
+        return item;
     }
 
     /**
-     * Creates an item and places it within the {@link Gui}.
+     * Builds an item, or copies it if it was recently built by this gui.
      *
-     * @param inv     The inventory to place the item into.
-     * @param item    The item to place within the inventory.
-     * @param invSlot The slot for the item to go into.
-     * @return Returns the item placed within the {@link Gui}.
+     * @param material  The material of the item.
+     * @param amount    The amount of the item.
+     * @param name      The name of the item.
+     * @param lore      The lore of the item.
+     * @param colorLore Whether to colorize the lore or not.
+     * @return The built item.
+     * @see Utils#buildItem(XMaterial, int, String, List)
      */
-    private ItemStack createItem(Inventory inv, ItemStack item, int invSlot) {
-        inv.setItem(invSlot, item);
-        return item;
+    private ItemStack buildItem(XMaterial material, int amount, String name, List<String> lore, boolean colorLore) {
+        ItemKey key = new ItemKey(material, amount, name, lore == null ? null : new ArrayList<>(lore), colorLore);
+        ItemStack item = itemCache.get(key);
+        if (item == null) {
+            if (colorLore && lore != null) {
+                List<String> colored = new ArrayList<>(lore.size());
+                for (String s : lore)
+                    colored.add(Utils.toColor(s));
+                lore = colored;
+            }
+            item = Utils.buildItem(material, amount, name, lore);
+            itemCache.put(key, item);
+        }
+        return item.clone();
     }
 
     /**
@@ -200,11 +652,30 @@ public abstract class Gui {
     protected abstract void getContents(Player p);
 
     /**
-     * Ran when a {@link Player} has clicked within the {@link Inventory}.
+     * Ran when a {@link Player} has clicked within the {@link Inventory} on a slot without a handler. By default, no
+     * action is taken.
      *
      * @param p         The Player who clicked.
      * @param slot      The slot the player clicked.
      * @param clickType The type of click done by the player.
+     * @see #setHandler(int, ClickHandler, ClickType...)
+     */
+    public void clicked(Player p, int slot, ClickType clickType) {
+    }
+
+    /**
+     * The handler of a slot.
+     *
+     * @param handler   The handler to run.
+     * @param clickMask The bit mask of the types of clicks the handler is ran for.
+     * @param async     Whether the handler is ran asynchronously or not.
      */
-    public abstract void clicked(Player p, int slot, ClickType clickType);
+    private record SlotHandler(ClickHandler handler, long clickMask, boolean async) {
+    }
+
+    /**
+     * The key of an item built by {@code createItem}.
+     */
+    private record ItemKey(XMaterial material, int amount, String name, List<String> lore, boolean colorLore) {
+    }
 }
\ No newline at end of file
@@ -4,6 +4,9 @@ import me.darrionat.pluginlib.Plugin;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.ClickType;
 
+import java.util.Collections;
+import java.util.Set;
+
 /**
  * The way that {@link Gui}s are handled within a {@link Plugin}.
  *
@@ -33,4 +36,14 @@ public interface GuiHandler {
      * @param gui The gui to open.
      */
     void openGui(Player p, Gui gui);
+
+    /**
+     * Gets every registered {@link Gui}. Handlers that do not keep track of their guis return an empty set, so that
+     * existing implementations keep working; {@link GuiStatsCommand} then has no guis to show.
+     *
+     * @return An unmodifiable view of the registered guis.
+     */
+    default Set<Gui> getRegisteredGuis() {
+        return Collections.emptySet();
+    }
 }
\ No newline at end of file
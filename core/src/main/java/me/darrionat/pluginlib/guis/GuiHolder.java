@@ -0,0 +1,56 @@
+package me.darrionat.pluginlib.guis;
+
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+
+/**
+ * Represents the {@link InventoryHolder} of every {@link Inventory} created by a {@link Gui}.
+ * <p>
+ * Events are dispatched to a gui by reading the holder of the inventory, so no titles need to be compared and
+ * inventories that do not belong to a gui are rejected immediately.
+ */
+public final class GuiHolder implements InventoryHolder {
+    /**
+     * The gui that owns the inventory.
+     */
+    private final Gui gui;
+    /**
+     * The inventory held.
+     */
+    private Inventory inventory;
+
+    /**
+     * Creates a new holder. The inventory must be attached once it has been created.
+     *
+     * @param gui The gui that owns the inventory.
+     */
+    GuiHolder(Gui gui) {
+        this.gui = gui;
+    }
+
+    /**
+     * Attaches the inventory held.
+     *
+     * @param inventory The inventory created with this holder.
+     */
+    void setInventory(Inventory inventory) {
+        this.inventory = inventory;
+    }
+
+    /**
+     * Gets the gui that owns the inventory.
+     *
+     * @return The gui of the inventory.
+     */
+    public Gui getGui() {
+        return gui;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+}
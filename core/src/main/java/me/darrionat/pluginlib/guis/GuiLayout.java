@@ -0,0 +1,136 @@
+package me.darrionat.pluginlib.guis;
+
+import com.cryptomorin.xseries.XMaterial;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the compiled layout of a {@link LayoutGui}.
+ * <p>
+ * A layout is read from a {@link ConfigurationSection} of the following format:
+ * <pre>
+ * title: "&amp;8Menu"
+ * rows: 3
+ * items:
+ *   border:
+ *     material: GRAY_STAINED_GLASS_PANE
+ *     name: " "
+ *     slots: [0, 1, 2, 3, 5, 6, 7, 8]
+ *   balance:
+ *     material: GOLD_INGOT
+ *     amount: 1
+ *     name: "&amp;eBalance"
+ *     lore:
+ *       - "&amp;7You have {balance} coins"
+ *     slot: 4
+ * </pre>
+ * Each item is compiled into an {@link ItemTemplate} once, and every slot of the layout points to the template shown
+ * within it. Layouts are immutable, so rendering a layout only copies the templates of its slots.
+ */
+public final class GuiLayout {
+    /**
+     * The title of the gui.
+     */
+    private final String title;
+    /**
+     * The amount of rows of the gui.
+     */
+    private final int rows;
+    /**
+     * The template shown within each slot; {@code null} for empty slots.
+     */
+    private final ItemTemplate[] templates;
+    /**
+     * The key of the item within each slot; {@code null} for empty slots.
+     */
+    private final String[] keys;
+
+    private GuiLayout(String title, int rows, ItemTemplate[] templates, String[] keys) {
+        this.title = title;
+        this.rows = rows;
+        this.templates = templates;
+        this.keys = keys;
+    }
+
+    /**
+     * Compiles a layout from a configuration section.
+     *
+     * @param section The section containing the layout.
+     * @return The compiled layout.
+     * @throws IllegalArgumentException Thrown when the layout is invalid, such as an unknown material or a slot outside
+     *                                  the gui.
+     */
+    public static GuiLayout compile(ConfigurationSection section) {
+        int rows = section.getInt("rows", 0);
+        if (rows < 1 || rows > 6)
+            throw new IllegalArgumentException("A layout must have between 1 and 6 rows");
+        String title = section.getString("title", "");
+        ItemTemplate[] templates = new ItemTemplate[rows * 9];
+        String[] keys = new String[rows * 9];
+
+        ConfigurationSection items = section.getConfigurationSection("items");
+        if (items == null)
+            return new GuiLayout(title, rows, templates, keys);
+        for (String key : items.getKeys(false)) {
+            ConfigurationSection item = items.getConfigurationSection(key);
+            if (item == null)
+                throw new IllegalArgumentException("Item " + key + " is not a section");
+            String materialName = item.getString("material", "");
+            XMaterial material = XMaterial.matchXMaterial(materialName)
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown material " + materialName + " of " + key));
+            ItemTemplate template = new ItemTemplate(material, item.getInt("amount", 1), item.getString("name"),
+                    item.getStringList("lore"));
+
+            List<Integer> slots = new ArrayList<>(item.getIntegerList("slots"));
+            if (item.isInt("slot"))
+                slots.add(item.getInt("slot"));
+            for (int slot : slots) {
+                if (slot < 0 || slot >= templates.length)
+                    throw new IllegalArgumentException("Slot " + slot + " of " + key + " is outside the gui");
+                templates[slot] = template;
+                keys[slot] = key;
+            }
+        }
+        return new GuiLayout(title, rows, templates, keys);
+    }
+
+    /**
+     * Gets the title of the gui.
+     *
+     * @return The title of the layout.
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Gets the amount of rows of the gui.
+     *
+     * @return The amount of rows of the layout.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the template shown within a slot.
+     *
+     * @param slot The slot of the gui.
+     * @return The template of the slot; {@code null} if the slot is empty.
+     */
+    public ItemTemplate getTemplate(int slot) {
+        return templates[slot];
+    }
+
+    /**
+     * Gets the key of the item shown within a slot.
+     *
+     * @param slot The slot of the gui.
+     * @return The key of the item within the {@code items} section; {@code null} if the slot is empty.
+     */
+    public String getKey(int slot) {
+        return slot >= 0 && slot < keys.length ? keys[slot] : null;
+    }
+}
@@ -7,19 +7,29 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.Inventory;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 
 /**
  * Represents a {@link List} of all {@link Gui}s within a {@link Plugin} and determines the outcome of an {@link
  * InventoryClickEvent}.
+ * <p>
+ * Events are dispatched through the {@link GuiHolder} of the inventory, so inventories that do not belong to a gui are
+ * rejected without comparing any titles.
  */
 public class GuiManager implements GuiHandler, Listener {
+    private final Plugin plugin;
     private final Set<Gui> registeredGuis = new HashSet<>();
 
     public GuiManager(Plugin plugin) {
+        this.plugin = plugin;
         Bukkit.getPluginManager().registerEvents(this, plugin);
     }
 
@@ -41,7 +51,16 @@ public class GuiManager implements GuiHandler, Listener {
      * {@inheritDoc}
      */
     public void openGui(Player p, Gui gui) {
+        long start = System.nanoTime();
         p.openInventory(gui.getInventory(p));
+        gui.getMetrics().getOpenLatency().recordSince(start);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Set<Gui> getRegisteredGuis() {
+        return Collections.unmodifiableSet(registeredGuis);
     }
 
     /**
@@ -51,44 +70,95 @@ public class GuiManager implements GuiHandler, Listener {
      */
     @EventHandler
     public void onInventoryClick(InventoryClickEvent e) {
-        if (e.getCurrentItem() == null)
+        Gui clickedGui = getGui(e.getInventory());
+        if (clickedGui == null)
+            return;
+        Player p = (Player) e.getWhoClicked();
+        // Clicks on empty slots are not cancelled, so they may place items into the gui
+        if (e.getCurrentItem() == null) {
+            clickedGui.invalidate(p);
             return;
-
-        String title = e.getView().getTitle();
-        Gui clickedGui = null;
-        for (Gui gui : registeredGuis) {
-            if (!gui.getName().equals(title))
-                continue;
-            if (!gui.allowsClick())
-                e.setCancelled(true);
-            if (!e.getInventory().equals(e.getClickedInventory()))
-                continue;
-            clickedGui = gui;
-            break;
         }
-        if (clickedGui != null)
-            clickedGui.clicked((Player) e.getWhoClicked(), e.getSlot(), e.getClick());
+        // A player able to move items may change the slots away from what was last sent
+        if (!clickedGui.allowsClick())
+            e.setCancelled(true);
+        else
+            clickedGui.invalidate(p);
+        // Only clicks within the gui itself are passed on
+        if (!e.getInventory().equals(e.getClickedInventory()))
+            return;
+        clickedGui.dispatchClick(p, e.getSlot(), e.getClick());
     }
 
     /**
-     * Stops all animations when an {@link AnimatedGui} is closed.
+     * Marks the slots of a {@link Gui} as changed when a player drags items across it, since dragging changes the
+     * slots away from what was last sent.
+     *
+     * @param e The Event that is passed.
+     */
+    @EventHandler
+    public void onInventoryDrag(InventoryDragEvent e) {
+        Gui gui = getGui(e.getInventory());
+        if (gui == null)
+            return;
+        gui.invalidate((Player) e.getWhoClicked());
+    }
+
+    /**
+     * Ends the session of a player who closed a {@link Gui}, which stops the animations shown to them within an {@link
+     * AnimatedGui}.
      *
      * @param e The Event that is passed.
      */
     @EventHandler
     public void onInventoryClose(InventoryCloseEvent e) {
-        String title = e.getView().getTitle();
-        Gui closedGui = null;
-        for (Gui gui : registeredGuis) {
-            if (!gui.getName().equals(title))
-                continue;
-            closedGui = gui;
-            break;
-        }
-        if (!(closedGui instanceof AnimatedGui))
+        Gui gui = getGui(e.getInventory());
+        if (gui == null)
             return;
-        // Stops all animations
-        AnimatedGui animatedGui = (AnimatedGui) closedGui;
-        animatedGui.stopAnimations();
+        Player p = (Player) e.getPlayer();
+        // The gui may be reopened within the same tick, such as when a gui is opened from another
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            if (p.isOnline() && getGui(p.getOpenInventory().getTopInventory()) == gui)
+                return;
+            gui.closeSession(p.getUniqueId());
+        });
+    }
+
+    /**
+     * Ends every session of a player who leaves the server.
+     *
+     * @param e The Event that is passed.
+     */
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent e) {
+        UUID id = e.getPlayer().getUniqueId();
+        for (Gui gui : registeredGuis)
+            gui.closeSession(id);
+    }
+
+    /**
+     * Gets the amount of players currently shown a registered {@link Gui}.
+     *
+     * @return The amount of live sessions across all registered guis.
+     * @see Gui#getSessionCount()
+     */
+    public int getSessionCount() {
+        int count = 0;
+        for (Gui gui : registeredGuis)
+            count += gui.getSessionCount();
+        return count;
+    }
+
+    /**
+     * Gets the registered {@link Gui} that an {@link Inventory} belongs to.
+     *
+     * @param inventory The inventory of the event.
+     * @return The gui that owns the inventory; {@code null} if the inventory does not belong to a registered gui.
+     */
+    private Gui getGui(Inventory inventory) {
+        if (!(inventory.getHolder() instanceof GuiHolder holder))
+            return null;
+        Gui gui = holder.getGui();
+        return registeredGuis.contains(gui) ? gui : null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package me.darrionat.pluginlib.guis;
+
+import me.darrionat.pluginlib.utils.LatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents the performance of a single {@link Gui}.
+ * <p>
+ * Every gui records how long it takes to open, to get its contents, to run its animations and to handle clicks, along
+ * with how many slots it updates. Recording is lock-free, so metrics are always collected.
+ *
+ * @see Gui#getMetrics()
+ */
+public final class GuiMetrics {
+    private final LatencyHistogram openLatency = new LatencyHistogram();
+    private final LatencyHistogram contentsTime = new LatencyHistogram();
+    private final LatencyHistogram animationTime = new LatencyHistogram();
+    private final LatencyHistogram clickTime = new LatencyHistogram();
+    private final LongAdder slotUpdates = new LongAdder();
+    /**
+     * The time the metrics were last reset, as given by {@link System#nanoTime()}.
+     */
+    private volatile long since = System.nanoTime();
+
+    /**
+     * Gets the time it takes to open the gui for a player, including getting its contents.
+     *
+     * @return The histogram of open latencies.
+     */
+    public LatencyHistogram getOpenLatency() {
+        return openLatency;
+    }
+
+    /**
+     * Gets the time it takes to run {@link Gui#getContents(org.bukkit.entity.Player)}.
+     *
+     * @return The histogram of content durations.
+     */
+    public LatencyHistogram getContentsTime() {
+        return contentsTime;
+    }
+
+    /**
+     * Gets the time it takes to run a single tick of an animation or timeline of the gui.
+     *
+     * @return The histogram of animation tick durations.
+     */
+    public LatencyHistogram getAnimationTime() {
+        return animationTime;
+    }
+
+    /**
+     * Gets the time it takes to handle a click within the gui.
+     *
+     * @return The histogram of click handling durations.
+     */
+    public LatencyHistogram getClickTime() {
+        return clickTime;
+    }
+
+    /**
+     * Records that a slot shown to a player was updated.
+     */
+    void recordSlotUpdate() {
+        slotUpdates.increment();
+    }
+
+    /**
+     * Gets the amount of slots updated since the metrics were last reset.
+     *
+     * @return The amount of slot updates sent to players.
+     */
+    public long getSlotUpdates() {
+        return slotUpdates.sum();
+    }
+
+    /**
+     * Gets the average amount of slots updated each second since the metrics were last reset.
+     *
+     * @return The amount of slot updates per second.
+     */
+    public double getSlotUpdateRate() {
+        double seconds = (double) (System.nanoTime() - since) / TimeUnit.SECONDS.toNanos(1);
+        return seconds <= 0 ? 0 : getSlotUpdates() / seconds;
+    }
+
+    /**
+     * Discards every recorded metric.
+     */
+    public void reset() {
+        openLatency.reset();
+        contentsTime.reset();
+        animationTime.reset();
+        clickTime.reset();
+        slotUpdates.reset();
+        since = System.nanoTime();
+    }
+}
@@ -0,0 +1,225 @@
+package me.darrionat.pluginlib.guis;
+
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Represents a single viewer of a {@link Gui}.
+ * <p>
+ * The session holds the inventory shown to the viewer along with the last item sent to each slot. Items are only
+ * placed into the inventory when they differ from what was last sent, so rendering a gui only updates the slots that
+ * actually changed.
+ */
+final class GuiSession {
+    /**
+     * The inventory shown to the viewer.
+     */
+    private final Inventory inventory;
+    /**
+     * The metrics of the gui that slot updates are recorded to.
+     */
+    private final GuiMetrics metrics;
+    /**
+     * The last item placed into each slot of the inventory.
+     */
+    private final ItemStack[] sent;
+    /**
+     * The slots whose item may no longer match {@link #sent}, such as after the viewer moved an item.
+     */
+    private final BitSet stale = new BitSet();
+    /**
+     * The page shown to the viewer, used by {@link PagedGui}.
+     */
+    private int page = 0;
+    /**
+     * The id of the most recent content load, used by {@link AsyncGui} to drop stale results.
+     */
+    private int load = 0;
+    /**
+     * The most recently loaded contents of the viewer, used by {@link AsyncGui}.
+     */
+    private Object loaded;
+    /**
+     * The time in milliseconds each slot was last clicked with a handler; {@code null} until the first such click.
+     */
+    private long[] lastClick;
+    /**
+     * The slots whose asynchronous handler is still running.
+     */
+    private final BitSet inFlight = new BitSet();
+    /**
+     * The slots that only belong to the viewer within a shared view, which renders of the gui do not overwrite.
+     */
+    private final BitSet overlay = new BitSet();
+
+    /**
+     * Creates a new session for an empty inventory.
+     *
+     * @param inventory The inventory shown to the viewer.
+     * @param metrics   The metrics of the gui.
+     */
+    GuiSession(Inventory inventory, GuiMetrics metrics) {
+        this.inventory = inventory;
+        this.metrics = metrics;
+        this.sent = new ItemStack[inventory.getSize()];
+    }
+
+    /**
+     * Gets the inventory shown to the viewer.
+     *
+     * @return The inventory of the session.
+     */
+    Inventory getInventory() {
+        return inventory;
+    }
+
+    /**
+     * Gets the page shown to the viewer.
+     *
+     * @return The index of the page, starting at {@code 0}.
+     */
+    int getPage() {
+        return page;
+    }
+
+    /**
+     * Sets the page shown to the viewer.
+     *
+     * @param page The index of the page, starting at {@code 0}.
+     */
+    void setPage(int page) {
+        this.page = page;
+    }
+
+    /**
+     * Begins a new content load, making the results of every earlier load stale.
+     *
+     * @return The id of the new load.
+     */
+    int beginLoad() {
+        return ++load;
+    }
+
+    /**
+     * Checks to see if a load is the most recent load of the viewer.
+     *
+     * @param load The id of the load.
+     * @return Returns {@code true} if no newer load has begun; {@code false} otherwise.
+     */
+    boolean isCurrentLoad(int load) {
+        return this.load == load;
+    }
+
+    /**
+     * Gets the most recently loaded contents of the viewer.
+     *
+     * @return The loaded contents; {@code null} if no load has completed.
+     */
+    Object getLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Sets the most recently loaded contents of the viewer.
+     *
+     * @param loaded The loaded contents.
+     */
+    void setLoaded(Object loaded) {
+        this.loaded = loaded;
+    }
+
+    /**
+     * Records a click on a slot with a handler if the slot is not cooling down and its handler is not running.
+     *
+     * @param slot     The clicked slot.
+     * @param now      The current time in milliseconds.
+     * @param cooldown The amount of milliseconds that must pass between clicks on the slot.
+     * @return Returns {@code true} if the click was accepted; {@code false} if it should be ignored.
+     */
+    boolean tryClick(int slot, long now, long cooldown) {
+        if (inFlight.get(slot))
+            return false;
+        if (cooldown <= 0)
+            return true;
+        if (lastClick == null)
+            lastClick = new long[sent.length];
+        else if (now - lastClick[slot] < cooldown)
+            return false;
+        lastClick[slot] = now;
+        return true;
+    }
+
+    /**
+     * Sets whether the asynchronous handler of a slot is running.
+     *
+     * @param slot     The slot of the handler.
+     * @param inFlight Whether the handler is running or not.
+     */
+    void setInFlight(int slot, boolean inFlight) {
+        this.inFlight.set(slot, inFlight);
+    }
+
+    /**
+     * Checks to see if a slot only belongs to the viewer within a shared view.
+     *
+     * @param slot The slot to check.
+     * @return Returns {@code true} if the slot is an overlay of the viewer; {@code false} otherwise.
+     */
+    boolean isOverlay(int slot) {
+        return overlay.get(slot);
+    }
+
+    /**
+     * Sets whether a slot only belongs to the viewer within a shared view.
+     *
+     * @param slot    The slot of the overlay.
+     * @param overlay Whether the slot is an overlay or not.
+     */
+    void setOverlay(int slot, boolean overlay) {
+        this.overlay.set(slot, overlay);
+    }
+
+    /**
+     * Places an item into a slot if it differs from the item last sent to that slot.
+     *
+     * @param slot The slot to update.
+     * @param item The item to show; {@code null} for an empty slot.
+     * @return Returns {@code true} if the slot was updated; {@code false} if the item was already shown.
+     */
+    boolean setItem(int slot, ItemStack item) {
+        if (!stale.get(slot) && Objects.equals(sent[slot], item))
+            return false;
+        stale.clear(slot);
+        inventory.setItem(slot, item);
+        sent[slot] = item == null ? null : item.clone();
+        metrics.recordSlotUpdate();
+        return true;
+    }
+
+    /**
+     * Places every item into its slot, only updating the slots whose item differs from the item last sent. Overlay
+     * slots are left as they are.
+     *
+     * @param contents The items to show, indexed by slot.
+     * @return The amount of slots that were updated.
+     */
+    int render(ItemStack[] contents) {
+        int updated = 0;
+        int slots = Math.min(contents.length, sent.length);
+        for (int slot = 0; slot < slots; slot++)
+            if (!overlay.get(slot) && setItem(slot, contents[slot]))
+                updated++;
+        return updated;
+    }
+
+    /**
+     * Marks every slot as stale so that the next render sends every slot again. This is used when the viewer is able
+     * to change the inventory themselves.
+     */
+    void invalidate() {
+        stale.set(0, sent.length);
+    }
+}
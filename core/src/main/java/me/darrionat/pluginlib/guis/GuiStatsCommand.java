@@ -0,0 +1,105 @@
+package me.darrionat.pluginlib.guis;
+
+import me.darrionat.pluginlib.Plugin;
+import me.darrionat.pluginlib.commands.BaseCommand;
+import me.darrionat.pluginlib.commands.SubCommand;
+import me.darrionat.pluginlib.utils.LatencyHistogram;
+import me.darrionat.pluginlib.utils.Utils;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Represents a {@link SubCommand} that shows the {@link GuiMetrics} of every registered {@link Gui}.
+ * <p>
+ * Guis are listed with the slowest to open first. Running the command with {@code reset} discards every metric.
+ * Plugins are able to attach the command to any of their {@link BaseCommand}s, requiring the permission {@code
+ * <label>.guistats}.
+ */
+public class GuiStatsCommand extends SubCommand {
+    private final Plugin plugin;
+
+    /**
+     * Creates a new {@link GuiStatsCommand} and adds it to the {@link BaseCommand}'s subcommands.
+     *
+     * @param parentCommand The parent command.
+     * @param plugin        The plugin that the subcommand belongs to.
+     */
+    public GuiStatsCommand(BaseCommand parentCommand, Plugin plugin) {
+        super(parentCommand, plugin);
+        this.plugin = plugin;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getSubCommand() {
+        return "guistats";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getRequiredArgs() {
+        return 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean onlyPlayers() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void runCommand(CommandSender sender, String[] args) {
+        List<Gui> guis = new ArrayList<>(plugin.getGuiHandler().getRegisteredGuis());
+        if (args.length > 1 && args[1].equalsIgnoreCase("reset")) {
+            guis.forEach(gui -> gui.getMetrics().reset());
+            sender.sendMessage(Utils.toColor("&aReset the metrics of " + guis.size() + " guis."));
+            return;
+        }
+        guis.sort(Comparator.comparingLong((Gui gui) -> gui.getMetrics().getOpenLatency().getPercentile(99))
+                .reversed());
+        sender.sendMessage(Utils.toColor("&e" + guis.size() + " guis &7(slowest to open first)"));
+        for (Gui gui : guis) {
+            GuiMetrics metrics = gui.getMetrics();
+            sender.sendMessage(Utils.toColor("&f" + gui.getName() + " &7- " + gui.getSessionCount() + " viewers, "
+                    + String.format("%.1f", metrics.getSlotUpdateRate()) + " slot updates/s"));
+            sender.sendMessage(line("open", metrics.getOpenLatency()));
+            sender.sendMessage(line("contents", metrics.getContentsTime()));
+            sender.sendMessage(line("animation", metrics.getAnimationTime()));
+            sender.sendMessage(line("click", metrics.getClickTime()));
+        }
+    }
+
+    /**
+     * Formats a single histogram as a line of the command output.
+     *
+     * @param label     The label of the histogram.
+     * @param histogram The histogram to format.
+     * @return The formatted line.
+     */
+    private String line(String label, LatencyHistogram histogram) {
+        return Utils.toColor("  &7" + label + ": &f" + histogram);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getTabComplete(String[] args) {
+        if (args.length == 2)
+            return Collections.singletonList("reset");
+        return Collections.emptyList();
+    }
+}
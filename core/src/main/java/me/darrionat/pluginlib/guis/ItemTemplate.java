@@ -0,0 +1,165 @@
+package me.darrionat.pluginlib.guis;
+
+import com.cryptomorin.xseries.XMaterial;
+import me.darrionat.pluginlib.utils.Utils;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents an item whose name and lore may contain placeholders, such as {@code {player}}.
+ * <p>
+ * The name and lore are colorized and split into segments once, when the template is created, and the item without
+ * its placeholders filled is built once. Creating an item from the template only clones that item and joins the
+ * segments with the placeholder values, so templates are cheap to render for every viewer of a {@link Gui}.
+ * <p>
+ * Placeholder values are not colorized. Placeholders without a value are left as they are.
+ */
+public final class ItemTemplate {
+    /**
+     * The item built from the template, with its placeholders unfilled.
+     */
+    private final ItemStack base;
+    /**
+     * The segments of the name. Even indices are text and odd indices are placeholder keys.
+     */
+    private final String[] name;
+    /**
+     * The segments of each line of the lore. Even indices are text and odd indices are placeholder keys.
+     */
+    private final String[][] lore;
+    /**
+     * Determines if the name or lore contain any placeholders.
+     */
+    private final boolean placeholders;
+
+    /**
+     * Creates a new {@code ItemTemplate}.
+     *
+     * @param material The material of the item.
+     * @param amount   The amount of the item.
+     * @param name     The name of the item. If {@code null}, the item's display name will be a single space.
+     * @param lore     The lines of the lore of the item.
+     */
+    public ItemTemplate(XMaterial material, int amount, String name, String... lore) {
+        this(material, amount, name, Arrays.asList(lore));
+    }
+
+    /**
+     * Creates a new {@code ItemTemplate}.
+     *
+     * @param material The material of the item.
+     * @param amount   The amount of the item.
+     * @param name     The name of the item. If {@code null}, the item's display name will be a single space.
+     * @param lore     The lore of the item. If {@code null}, item's lore will be empty.
+     */
+    public ItemTemplate(XMaterial material, int amount, String name, List<String> lore) {
+        if (lore == null)
+            lore = Collections.emptyList();
+        this.name = compile(Utils.toColor(name == null ? " " : name));
+        this.lore = new String[lore.size()][];
+        List<String> coloredLore = new ArrayList<>(lore.size());
+        boolean placeholders = this.name.length > 1;
+        for (int i = 0; i < this.lore.length; i++) {
+            String line = Utils.toColor(lore.get(i));
+            coloredLore.add(line);
+            this.lore[i] = compile(line);
+            placeholders |= this.lore[i].length > 1;
+        }
+        this.placeholders = placeholders;
+        // The name is colorized by buildItem itself
+        this.base = Utils.buildItem(material, amount, name, coloredLore);
+    }
+
+    /**
+     * Splits text into segments around its placeholders.
+     *
+     * @param text The text to split.
+     * @return The segments of the text. Even indices are text and odd indices are placeholder keys.
+     */
+    private static String[] compile(String text) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        int open;
+        while ((open = text.indexOf('{', start)) >= 0) {
+            int close = text.indexOf('}', open + 1);
+            if (close < 0)
+                break;
+            segments.add(text.substring(start, open));
+            segments.add(text.substring(open + 1, close));
+            start = close + 1;
+        }
+        segments.add(text.substring(start));
+        return segments.toArray(new String[0]);
+    }
+
+    /**
+     * Joins segments with the values of their placeholders.
+     *
+     * @param segments The segments to join.
+     * @param values   The values of the placeholders.
+     * @return The filled text.
+     */
+    private static String fill(String[] segments, Map<String, String> values) {
+        if (segments.length == 1)
+            return segments[0];
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < segments.length; i++) {
+            if ((i & 1) == 0) {
+                builder.append(segments[i]);
+                continue;
+            }
+            String value = values.get(segments[i]);
+            if (value == null)
+                builder.append('{').append(segments[i]).append('}');
+            else
+                builder.append(value);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Creates an item from the template without filling any placeholders.
+     *
+     * @return A copy of the item of the template.
+     */
+    public ItemStack create() {
+        return base.clone();
+    }
+
+    /**
+     * Creates an item from the template and fills its placeholders.
+     *
+     * @param values The values of the placeholders, keyed by the name of the placeholder without braces.
+     * @return The created item.
+     */
+    public ItemStack create(Map<String, String> values) {
+        ItemStack item = base.clone();
+        if (!placeholders || values.isEmpty())
+            return item;
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null)
+            return item;
+        meta.setDisplayName(fill(name, values));
+        List<String> filledLore = new ArrayList<>(lore.length);
+        for (String[] line : lore)
+            filledLore.add(fill(line, values));
+        meta.setLore(filledLore);
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    /**
+     * Determines if the name or lore of the template contain placeholders.
+     *
+     * @return Returns {@code true} if the template has placeholders; {@code false} otherwise.
+     */
+    public boolean hasPlaceholders() {
+        return placeholders;
+    }
+}
@@ -0,0 +1,245 @@
+package me.darrionat.pluginlib.guis;
+
+import me.darrionat.pluginlib.Plugin;
+import me.darrionat.pluginlib.files.Config;
+import me.darrionat.pluginlib.files.ConfigBuilder;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.server.PluginDisableEvent;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.Map;
+import java.util.logging.Level;
+
+/**
+ * Represents a {@link Gui} whose items are read from a {@link Config}.
+ * <p>
+ * The config is compiled into a {@link GuiLayout} once, so rendering the gui only copies the template of each slot and
+ * fills its placeholders. When watching for changes, the layout is compiled again whenever the file of the config is
+ * saved and swapped in on the main thread, after which every viewer is refreshed. A layout that fails to compile or
+ * changes the amount of rows is rejected and the previous layout is kept. The title of the gui is only read once.
+ * Watching stops automatically when the plugin is disabled.
+ *
+ * @see ConfigBuilder
+ * @see GuiLayout
+ */
+public abstract class LayoutGui extends Gui {
+    /**
+     * The config the layout is read from.
+     */
+    private final Config config;
+    /**
+     * The compiled layout of the gui, only replaced on the main thread.
+     */
+    private volatile GuiLayout layout;
+    /**
+     * The service watching the file of the config; {@code null} if the file is not being watched.
+     */
+    private WatchService watchService;
+    /**
+     * Stops watching once the plugin is disabled; {@code null} if the file is not being watched.
+     */
+    private Listener disableListener;
+
+    /**
+     * Creates a new {@link LayoutGui}.
+     *
+     * @param plugin The plugin that this gui belongs to.
+     * @param config The config containing the layout of the gui.
+     * @throws IllegalArgumentException Thrown when the layout is invalid.
+     */
+    public LayoutGui(Plugin plugin, Config config) {
+        this(plugin, config, GuiLayout.compile(config.getFileConfiguration()));
+    }
+
+    private LayoutGui(Plugin plugin, Config config, GuiLayout layout) {
+        super(plugin, layout.getTitle(), layout.getRows());
+        this.config = config;
+        this.layout = layout;
+    }
+
+    /**
+     * Gets the values of the placeholders of the layout for a player.
+     *
+     * @param p The player viewing the gui.
+     * @return The values of the placeholders, keyed by the name of the placeholder without braces.
+     */
+    protected Map<String, String> getPlaceholders(Player p) {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Ran when a {@link Player} has clicked an item of the layout.
+     *
+     * @param p         The Player who clicked.
+     * @param key       The key of the clicked item within the {@code items} section of the layout.
+     * @param clickType The type of click done by the player.
+     */
+    protected void layoutClicked(Player p, String key, ClickType clickType) {
+    }
+
+    /**
+     * Gets the current layout of the gui.
+     *
+     * @return The compiled layout.
+     */
+    public GuiLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void getContents(Player p) {
+        GuiLayout layout = this.layout;
+        Map<String, String> placeholders = getPlaceholders(p);
+        for (int slot = 0; slot < size; slot++) {
+            ItemTemplate template = layout.getTemplate(slot);
+            inv.setItem(slot, template == null ? null : template.create(placeholders));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clicked(Player p, int slot, ClickType clickType) {
+        String key = layout.getKey(slot);
+        if (key != null)
+            layoutClicked(p, key, clickType);
+    }
+
+    /**
+     * Compiles the layout from the config again and refreshes every viewer. This should be ran on the main thread.
+     *
+     * @return Returns {@code true} if the layout was replaced; {@code false} if the previous layout was kept.
+     */
+    public boolean reload() {
+        return reload(config.getFileConfiguration());
+    }
+
+    /**
+     * Compiles a layout and refreshes every viewer if it is able to replace the current layout.
+     *
+     * @param section The section containing the layout.
+     * @return Returns {@code true} if the layout was replaced; {@code false} if the previous layout was kept.
+     */
+    private boolean reload(ConfigurationSection section) {
+        GuiLayout compiled;
+        try {
+            compiled = GuiLayout.compile(section);
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Kept the previous layout of " + name + ": " + e.getMessage());
+            return false;
+        }
+        if (compiled.getRows() != layout.getRows()) {
+            plugin.getLogger().warning("Kept the previous layout of " + name + ": rows cannot change until restart");
+            return false;
+        }
+        layout = compiled;
+        refresh();
+        return true;
+    }
+
+    /**
+     * Begins watching the file of the config, reloading the layout whenever it is saved. No action is taken if the
+     * file is already being watched.
+     *
+     * @see #stopWatching()
+     */
+    public void watchForChanges() {
+        if (watchService != null) return;
+        Path file = config.getFile().toPath().toAbsolutePath();
+        try {
+            watchService = file.getFileSystem().newWatchService();
+            file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Unable to watch the layout of " + name, e);
+            stopWatching();
+            return;
+        }
+        WatchService service = watchService;
+        Thread thread = new Thread(() -> watch(service, file), "PluginLib Layout Watcher - " + file.getFileName());
+        thread.setDaemon(true);
+        thread.start();
+        disableListener = new DisableListener();
+        Bukkit.getPluginManager().registerEvents(disableListener, plugin);
+    }
+
+    /**
+     * Stops watching the file of the config. This is ran automatically when the plugin is disabled.
+     */
+    public void stopWatching() {
+        if (disableListener != null) {
+            HandlerList.unregisterAll(disableListener);
+            disableListener = null;
+        }
+        if (watchService == null) return;
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+        }
+        watchService = null;
+    }
+
+    /**
+     * Waits for changes to the file of the config until the service is closed. The file is parsed on the watching
+     * thread and compiled on the main thread.
+     *
+     * @param service The service watching the directory of the file.
+     * @param file    The file of the config.
+     */
+    private void watch(WatchService service, Path file) {
+        while (true) {
+            WatchKey key;
+            try {
+                key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents())
+                    changed |= file.getFileName().equals(event.context());
+                key.reset();
+                if (!changed)
+                    continue;
+                // Editors often save a file in several writes
+                Thread.sleep(100);
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            ConfigurationSection section = config.getFileConfiguration();
+            if (!plugin.isEnabled())
+                return;
+            Bukkit.getScheduler().runTask(plugin, () -> reload(section));
+        }
+    }
+
+    /**
+     * Stops watching the file of the config once the plugin of the gui is disabled, so that the watching thread does
+     * not outlive the plugin.
+     */
+    private final class DisableListener implements Listener {
+        /**
+         * Stops watching when the plugin of the gui is disabled.
+         *
+         * @param e The Event that is passed.
+         */
+        @EventHandler
+        public void onPluginDisable(PluginDisableEvent e) {
+            if (e.getPlugin() == plugin)
+                stopWatching();
+        }
+    }
+}
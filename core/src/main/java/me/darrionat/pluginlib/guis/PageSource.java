@@ -0,0 +1,51 @@
+package me.darrionat.pluginlib.guis;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents the elements shown by a {@link PagedGui}.
+ * <p>
+ * A source only needs to know its size and how to get a single element, so elements are able to be fetched lazily
+ * from whatever backs the source. A {@link PagedGui} only requests the elements of the pages it shows.
+ *
+ * @param <T> The type of the elements.
+ */
+public interface PageSource<T> {
+    /**
+     * Gets the amount of elements within the source.
+     *
+     * @return The size of the source.
+     */
+    int size();
+
+    /**
+     * Gets an element of the source.
+     *
+     * @param index The index of the element, between {@code 0} and {@link #size()} exclusive.
+     * @return The element at the index.
+     */
+    T get(int index);
+
+    /**
+     * Creates a source backed by a list. Changes to the list are reflected by the source.
+     *
+     * @param list The list of elements.
+     * @param <T>  The type of the elements.
+     * @return A source backed by the list.
+     */
+    static <T> PageSource<T> of(List<T> list) {
+        Objects.requireNonNull(list, "List is null");
+        return new PageSource<>() {
+            @Override
+            public int size() {
+                return list.size();
+            }
+
+            @Override
+            public T get(int index) {
+                return list.get(index);
+            }
+        };
+    }
+}
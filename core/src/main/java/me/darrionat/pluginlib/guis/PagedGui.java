@@ -0,0 +1,313 @@
+package me.darrionat.pluginlib.guis;
+
+import com.cryptomorin.xseries.XMaterial;
+import me.darrionat.pluginlib.Plugin;
+import me.darrionat.pluginlib.utils.Utils;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Represents a {@link Gui} that shows the elements of a {@link PageSource} over multiple pages.
+ * <p>
+ * Every row except the last shows elements, while the last row holds the buttons to move between pages. Items are
+ * only built for the pages that are shown, and rendered pages are cached so that flipping back and forth does not
+ * build them again. Opening or flipping a page only visits the elements of that page, regardless of the size of the
+ * source.
+ * <p>
+ * Sorted and filtered views are kept as an array of indices into the source, so the elements themselves are never
+ * copied. Each viewer has their own page.
+ *
+ * @param <T> The type of the elements shown.
+ */
+public abstract class PagedGui<T> extends Gui {
+    /**
+     * The source of the elements shown.
+     */
+    private final PageSource<T> source;
+    /**
+     * The amount of elements shown on each page.
+     */
+    private final int pageSize;
+    /**
+     * The rendered pages, with the least recently used first.
+     */
+    private final LinkedHashMap<Integer, ItemStack[]> pageCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, ItemStack[]> eldest) {
+            return size() > maxCachedPages;
+        }
+    };
+    /**
+     * The indices of the source that are shown, in the order they are shown; {@code null} if every element is shown
+     * in the order of the source.
+     */
+    private int[] view = null;
+    /**
+     * The maximum amount of rendered pages to cache.
+     */
+    private int maxCachedPages = 8;
+    /**
+     * Determines if the pages before and after a shown page are rendered ahead of time.
+     */
+    private boolean prefetch = false;
+
+    /**
+     * Creates a new {@link PagedGui}.
+     *
+     * @param plugin The plugin that this gui belongs to.
+     * @param name   The title of the gui.
+     * @param rows   The amount of rows the {@link Inventory} will have, including the row of page buttons.
+     * @param source The elements to show.
+     * @throws IllegalArgumentException Thrown when the gui has less than two rows.
+     */
+    public PagedGui(Plugin plugin, String name, int rows, PageSource<T> source) {
+        super(plugin, name, rows);
+        if (rows < 2)
+            throw new IllegalArgumentException("A paged gui requires at least two rows");
+        this.source = Objects.requireNonNull(source, "Source is null");
+        this.pageSize = size - 9;
+    }
+
+    /**
+     * Builds the item shown for an element. This is only ran for the elements of pages that are shown or prefetched.
+     *
+     * @param element The element to build the item of.
+     * @return The item that represents the element.
+     */
+    protected abstract ItemStack buildItem(T element);
+
+    /**
+     * Ran when a {@link Player} has clicked an element within the gui.
+     *
+     * @param p         The Player who clicked.
+     * @param element   The element that was clicked.
+     * @param clickType The type of click done by the player.
+     */
+    protected abstract void elementClicked(Player p, T element, ClickType clickType);
+
+    /**
+     * Gets the button that moves to the previous page.
+     *
+     * @return The item of the previous page button.
+     */
+    protected ItemStack getPreviousButton() {
+        return Utils.buildItem(XMaterial.ARROW, 1, "&ePrevious Page");
+    }
+
+    /**
+     * Gets the button that moves to the next page.
+     *
+     * @return The item of the next page button.
+     */
+    protected ItemStack getNextButton() {
+        return Utils.buildItem(XMaterial.ARROW, 1, "&eNext Page");
+    }
+
+    /**
+     * Shows only the elements that match a filter, in the order of a comparator. Building a view visits every element
+     * of the source once, but builds no items.
+     *
+     * @param filter The filter elements must match; {@code null} to show every element.
+     * @param sort   The order to show elements in; {@code null} to keep the order of the source.
+     */
+    public void setView(Predicate<? super T> filter, Comparator<? super T> sort) {
+        if (filter == null && sort == null) {
+            clearView();
+            return;
+        }
+        IntStream indices = IntStream.range(0, source.size());
+        if (filter != null)
+            indices = indices.filter(i -> filter.test(source.get(i)));
+        if (sort != null)
+            indices = indices.boxed()
+                    .sorted((a, b) -> sort.compare(source.get(a), source.get(b)))
+                    .mapToInt(Integer::intValue);
+        view = indices.toArray();
+        invalidatePages();
+    }
+
+    /**
+     * Shows every element in the order of the source.
+     */
+    public void clearView() {
+        view = null;
+        invalidatePages();
+    }
+
+    /**
+     * Discards every rendered page. This should be ran when the elements of the source have changed.
+     */
+    public void invalidatePages() {
+        pageCache.clear();
+    }
+
+    /**
+     * Sets the maximum amount of rendered pages to cache. Set to {@code 8} by default.
+     *
+     * @param maxCachedPages The maximum amount of pages to cache.
+     */
+    public void setMaxCachedPages(int maxCachedPages) {
+        this.maxCachedPages = Math.max(1, maxCachedPages);
+        pageCache.clear();
+    }
+
+    /**
+     * Determines if the pages before and after a shown page are rendered ahead of time. Prefetched pages are rendered
+     * on the next tick. Set to {@code false} by default.
+     *
+     * @param prefetch Whether to prefetch neighboring pages or not.
+     */
+    public void setPrefetch(boolean prefetch) {
+        this.prefetch = prefetch;
+    }
+
+    /**
+     * Gets the amount of elements shown on each page.
+     *
+     * @return The size of a page.
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Gets the amount of elements shown within the current view.
+     *
+     * @return The amount of elements shown across all pages.
+     */
+    public int getElementCount() {
+        return view == null ? source.size() : view.length;
+    }
+
+    /**
+     * Gets the amount of pages within the current view. There is always at least one page.
+     *
+     * @return The amount of pages.
+     */
+    public int getPageCount() {
+        return Math.max(1, (getElementCount() + pageSize - 1) / pageSize);
+    }
+
+    /**
+     * Gets the page shown to a player.
+     *
+     * @param p The player viewing the gui.
+     * @return The index of the page, starting at {@code 0}; {@code 0} if the player is not shown this gui.
+     */
+    public int getPage(Player p) {
+        GuiSession session = getSession(p);
+        return session == null ? 0 : clampPage(session.getPage());
+    }
+
+    /**
+     * Shows a page to a player that has the gui open. No action is taken if the player has not been shown this gui.
+     *
+     * @param p    The player viewing the gui.
+     * @param page The index of the page, starting at {@code 0}. Pages out of bounds are clamped.
+     */
+    public void setPage(Player p, int page) {
+        GuiSession session = getSession(p);
+        if (session == null) return;
+        session.setPage(clampPage(page));
+        refresh(p);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void getContents(Player p) {
+        GuiSession session = getSession(p);
+        int page = session == null ? 0 : clampPage(session.getPage());
+        if (session != null)
+            session.setPage(page);
+
+        ItemStack[] items = getRenderedPage(page);
+        for (int slot = 0; slot < pageSize; slot++)
+            inv.setItem(slot, items[slot]);
+        for (int slot = pageSize; slot < size; slot++)
+            inv.setItem(slot, null);
+        if (page > 0)
+            inv.setItem(size - 9, getPreviousButton());
+        if (page < getPageCount() - 1)
+            inv.setItem(size - 1, getNextButton());
+
+        if (prefetch)
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                if (page > 0)
+                    getRenderedPage(page - 1);
+                if (page < getPageCount() - 1)
+                    getRenderedPage(page + 1);
+            });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clicked(Player p, int slot, ClickType clickType) {
+        int page = getPage(p);
+        if (slot == size - 9 && page > 0) {
+            setPage(p, page - 1);
+            return;
+        }
+        if (slot == size - 1 && page < getPageCount() - 1) {
+            setPage(p, page + 1);
+            return;
+        }
+        if (slot >= pageSize)
+            return;
+        int index = page * pageSize + slot;
+        if (index < getElementCount())
+            elementClicked(p, getElement(index), clickType);
+    }
+
+    /**
+     * Gets a rendered page, rendering it if it is not cached.
+     *
+     * @param page The index of the page.
+     * @return The items of the page, indexed by slot.
+     */
+    private ItemStack[] getRenderedPage(int page) {
+        ItemStack[] items = pageCache.get(page);
+        if (items != null)
+            return items;
+        items = new ItemStack[pageSize];
+        int first = page * pageSize;
+        int count = Math.min(pageSize, getElementCount() - first);
+        for (int i = 0; i < count; i++)
+            items[i] = buildItem(getElement(first + i));
+        pageCache.put(page, items);
+        return items;
+    }
+
+    /**
+     * Gets an element within the current view.
+     *
+     * @param index The index of the element within the view.
+     * @return The element at the index.
+     */
+    private T getElement(int index) {
+        return source.get(view == null ? index : view[index]);
+    }
+
+    /**
+     * Clamps a page within the bounds of the current view.
+     *
+     * @param page The index of the page.
+     * @return The closest page that exists.
+     */
+    private int clampPage(int page) {
+        return Math.max(0, Math.min(page, getPageCount() - 1));
+    }
+}
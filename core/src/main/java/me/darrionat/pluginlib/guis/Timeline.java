@@ -0,0 +1,72 @@
+package me.darrionat.pluginlib.guis;
+
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Represents a compiled animation of an {@link AnimatedGui}.
+ * <p>
+ * A timeline is a series of frames, one for every tick. Each frame only holds the slots that change on that tick, so
+ * playing a frame costs one update per changed slot. Timelines are immutable once built, so a single timeline is
+ * shared by every viewer it is played to.
+ *
+ * @see TimelineBuilder
+ * @see AnimatedGui#playTimeline(org.bukkit.entity.Player, Timeline, int)
+ */
+public final class Timeline {
+    /**
+     * The slots that change within each frame.
+     */
+    private final int[][] slots;
+    /**
+     * The items that the slots of each frame change to, in the same order as {@link #slots}.
+     */
+    private final ItemStack[][] items;
+    /**
+     * Determines if the timeline starts over once its last frame has been played.
+     */
+    private final boolean looping;
+
+    /**
+     * Creates a new {@code Timeline}. Timelines should be created through a {@link TimelineBuilder}.
+     *
+     * @param slots   The slots that change within each frame.
+     * @param items   The items that the slots of each frame change to.
+     * @param looping Whether the timeline loops or not.
+     */
+    Timeline(int[][] slots, ItemStack[][] items, boolean looping) {
+        this.slots = slots;
+        this.items = items;
+        this.looping = looping;
+    }
+
+    /**
+     * Gets the length of the timeline.
+     *
+     * @return The amount of frames, which is the amount of ticks a single play lasts.
+     */
+    public int getLength() {
+        return slots.length;
+    }
+
+    /**
+     * Determines if the timeline starts over once its last frame has been played.
+     *
+     * @return Returns {@code true} if the timeline loops; {@code false} otherwise.
+     */
+    public boolean isLooping() {
+        return looping;
+    }
+
+    /**
+     * Plays a single frame to a viewer.
+     *
+     * @param session The session of the viewer.
+     * @param frame   The index of the frame to play.
+     */
+    void apply(GuiSession session, int frame) {
+        int[] frameSlots = slots[frame];
+        ItemStack[] frameItems = items[frame];
+        for (int i = 0; i < frameSlots.length; i++)
+            session.setItem(frameSlots[i], frameItems[i]);
+    }
+}
@@ -0,0 +1,143 @@
+package me.darrionat.pluginlib.guis;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A utility to create a {@link Timeline}.
+ * <p>
+ * Frames are described as the items that slots change to on a given tick. When a slot is set more than once on the
+ * same tick, the last item set is kept.
+ */
+public class TimelineBuilder {
+    /**
+     * The slots set on each tick, with the items they change to.
+     */
+    private final List<Map<Integer, ItemStack>> frames;
+    /**
+     * Whether the timeline starts over once its last frame has been played.
+     */
+    private boolean looping = false;
+
+    /**
+     * Creates a {@link TimelineBuilder} object which can be used to create {@link Timeline} objects.
+     *
+     * @param length The amount of ticks a single play of the timeline lasts.
+     * @throws IllegalArgumentException Thrown when the length is not positive.
+     */
+    public TimelineBuilder(int length) {
+        if (length <= 0)
+            throw new IllegalArgumentException("A timeline must last at least one tick");
+        frames = new ArrayList<>(length);
+        for (int i = 0; i < length; i++)
+            frames.add(null);
+    }
+
+    /**
+     * Changes a slot on a tick of the timeline.
+     *
+     * @param tick The tick of the change, starting at {@code 0}.
+     * @param slot The slot to change.
+     * @param item The item to change the slot to; {@code null} to empty the slot.
+     * @return Returns the {@link TimelineBuilder}.
+     * @throws IllegalArgumentException Thrown when the tick is outside the length of the timeline.
+     */
+    public TimelineBuilder set(int tick, int slot, ItemStack item) {
+        if (tick < 0 || tick >= frames.size())
+            throw new IllegalArgumentException("Tick " + tick + " is outside the timeline");
+        Map<Integer, ItemStack> frame = frames.get(tick);
+        if (frame == null) {
+            frame = new LinkedHashMap<>();
+            frames.set(tick, frame);
+        }
+        frame.put(slot, item);
+        return this;
+    }
+
+    /**
+     * Changes multiple slots on a tick of the timeline.
+     *
+     * @param tick  The tick of the change, starting at {@code 0}.
+     * @param slots The slots to change.
+     * @param item  The item to change the slots to; {@code null} to empty the slots.
+     * @return Returns the {@link TimelineBuilder}.
+     * @throws IllegalArgumentException Thrown when the tick is outside the length of the timeline.
+     */
+    public TimelineBuilder set(int tick, int[] slots, ItemStack item) {
+        for (int slot : slots)
+            set(tick, slot, item);
+        return this;
+    }
+
+    /**
+     * Moves an item along a path of slots. The slot the item leaves is changed back to the background item.
+     *
+     * @param path       The slots the item moves through, in order.
+     * @param item       The item that moves.
+     * @param background The item of a slot once the item has left it.
+     * @param start      The tick the item is placed on the first slot of the path.
+     * @param duration   The amount of ticks it takes the item to reach the last slot of the path.
+     * @param easing     How the speed of the item changes over the movement.
+     * @return Returns the {@link TimelineBuilder}.
+     * @throws IllegalArgumentException Thrown when the movement does not fit within the timeline.
+     */
+    public TimelineBuilder move(int[] path, ItemStack item, ItemStack background, int start, int duration,
+                                Easing easing) {
+        if (path.length == 0)
+            return this;
+        int previous = -1;
+        for (int t = 0; t < Math.max(1, duration); t++) {
+            double progress = duration <= 1 ? 1 : t / (duration - 1.0);
+            int position = (int) Math.round(easing.apply(progress) * (path.length - 1));
+            if (position == previous)
+                continue;
+            if (previous >= 0)
+                set(start + t, path[previous], background);
+            set(start + t, path[position], item);
+            previous = position;
+        }
+        return this;
+    }
+
+    /**
+     * Sets the {@link Timeline} to start over once its last frame has been played.
+     *
+     * @return Returns the {@link TimelineBuilder}.
+     */
+    public TimelineBuilder loop() {
+        this.looping = true;
+        return this;
+    }
+
+    /**
+     * Builds the {@link Timeline}, compiling every tick into a frame of the slots that change.
+     *
+     * @return Returns the timeline that has been compiled.
+     */
+    public Timeline build() {
+        int[] noSlots = new int[0];
+        ItemStack[] noItems = new ItemStack[0];
+        int[][] slots = new int[frames.size()][];
+        ItemStack[][] items = new ItemStack[frames.size()][];
+        for (int tick = 0; tick < frames.size(); tick++) {
+            Map<Integer, ItemStack> frame = frames.get(tick);
+            if (frame == null) {
+                slots[tick] = noSlots;
+                items[tick] = noItems;
+                continue;
+            }
+            slots[tick] = new int[frame.size()];
+            items[tick] = new ItemStack[frame.size()];
+            int i = 0;
+            for (Map.Entry<Integer, ItemStack> change : frame.entrySet()) {
+                slots[tick][i] = change.getKey();
+                items[tick][i++] = change.getValue() == null ? null : change.getValue().clone();
+            }
+        }
+        return new Timeline(slots, items, looping);
+    }
+}
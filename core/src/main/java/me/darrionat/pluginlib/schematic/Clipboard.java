@@ -6,6 +6,7 @@ import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.data.BlockData;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
 
@@ -15,20 +16,33 @@ import java.util.Objects;
  * <p>
  * Loading and saving {@code Clipboard}s should be handled through a {@link BuildSerializer}.
  * <p>
- * Clipboards are immutable.
+ * Clipboards are immutable. Because of this, a sub-region of a clipboard is a view that shares the storage of its
+ * parent instead of copying it.
  *
  * @see #copy(Selection)
  * @see #rotate()
+ * @see #subRegion(int, int, int, int, int, int)
  * @see BuildSerializer
+ * @see RegionComparator
  */
 public class Clipboard {
     /**
      * The BlockData held within the clipboard. The data is saved by length, width, height or x,y,z.
      */
     private final BlockData[][][] blocks;
+    /**
+     * The position of this clipboard within {@code blocks}. Each offset is {@code 0} unless this clipboard is a view.
+     */
+    private final int xOffset, yOffset, zOffset;
     private final int length;
     private final int height;
     private final int width;
+    /**
+     * The blocks of this view copied into their own array, created once requested.
+     *
+     * @see #getBlocks()
+     */
+    private BlockData[][][] materialized;
 
     /**
      * Constructs a new {@code Clipboard} from a {@code Selection}.
@@ -48,7 +62,7 @@ public class Clipboard {
      * @see #copy(Selection)
      */
     public Clipboard(BlockData[][][] blocks) {
-        this(blocks, blocks.length, blocks[0].length, blocks[0][0].length);
+        this(blocks, 0, 0, 0, blocks.length, blocks[0].length, blocks[0][0].length);
     }
 
     /**
@@ -56,12 +70,19 @@ public class Clipboard {
      * Selection}.
      *
      * @param blocks  The blocks to put into the clipboard.
+     * @param xOffset The x position of the clipboard within the blocks.
+     * @param yOffset The y position of the clipboard within the blocks.
+     * @param zOffset The z position of the clipboard within the blocks.
      * @param xLength The length of the clipboard.
      * @param yLength The height of the clipboard.
      * @param zLength The width of the clipboard.
      */
-    private Clipboard(BlockData[][][] blocks, int xLength, int yLength, int zLength) {
+    private Clipboard(BlockData[][][] blocks, int xOffset, int yOffset, int zOffset,
+                      int xLength, int yLength, int zLength) {
         this.blocks = blocks;
+        this.xOffset = xOffset;
+        this.yOffset = yOffset;
+        this.zOffset = zOffset;
         this.length = xLength;
         this.height = yLength;
         this.width = zLength;
@@ -99,11 +120,124 @@ public class Clipboard {
 
     /**
      * Gets all block states of the clipboard.
+     * <p>
+     * If this clipboard is a view, its blocks are copied into a new array the first time this is called. Prefer {@link
+     * #getBlock(int, int, int)} for reading views.
      *
      * @return All blocks within the clipboard.
      */
     public BlockData[][][] getBlocks() {
-        return blocks;
+        if (!isView())
+            return blocks;
+        if (materialized == null) {
+            BlockData[][][] copy = new BlockData[length][height][width];
+            for (int x = 0; x < length; x++)
+                for (int y = 0; y < height; y++)
+                    System.arraycopy(blocks[xOffset + x][yOffset + y], zOffset, copy[x][y], 0, width);
+            materialized = copy;
+        }
+        return materialized;
+    }
+
+    /**
+     * Gets the state of a single block within the clipboard.
+     *
+     * @param x The x position within the clipboard.
+     * @param y The y position within the clipboard.
+     * @param z The z position within the clipboard.
+     * @return The block at the given position.
+     * @throws ArrayIndexOutOfBoundsException Thrown when the position is not within the clipboard.
+     */
+    public BlockData getBlock(int x, int y, int z) {
+        if (x < 0 || x >= length || y < 0 || y >= height || z < 0 || z >= width)
+            throw new ArrayIndexOutOfBoundsException("Position is not within the clipboard");
+        return blocks[xOffset + x][yOffset + y][zOffset + z];
+    }
+
+    /**
+     * Determines if this clipboard is a view of part of another clipboard.
+     *
+     * @return Returns {@code true} if this clipboard shares the storage of a larger clipboard; {@code false} otherwise.
+     * @see #subRegion(int, int, int, int, int, int)
+     */
+    public boolean isView() {
+        return xOffset != 0 || yOffset != 0 || zOffset != 0
+                || length != blocks.length || height != blocks[0].length || width != blocks[0][0].length;
+    }
+
+    /**
+     * Creates a view of part of this clipboard. The view shares the storage of this clipboard, so no blocks are
+     * copied.
+     *
+     * @param x      The x position within this clipboard that the view starts at.
+     * @param y      The y position within this clipboard that the view starts at.
+     * @param z      The z position within this clipboard that the view starts at.
+     * @param length The length of the view.
+     * @param height The height of the view.
+     * @param width  The width of the view.
+     * @return A clipboard of the given region.
+     * @throws IllegalArgumentException Thrown when the region is empty or not within this clipboard.
+     */
+    public Clipboard subRegion(int x, int y, int z, int length, int height, int width) {
+        if (length <= 0 || height <= 0 || width <= 0)
+            throw new IllegalArgumentException("Region must not be empty");
+        if (x < 0 || y < 0 || z < 0 || x + length > this.length || y + height > this.height || z + width > this.width)
+            throw new IllegalArgumentException("Region is not within the clipboard");
+        if (x == 0 && y == 0 && z == 0 && length == this.length && height == this.height && width == this.width)
+            return this;
+        return new Clipboard(blocks, xOffset + x, yOffset + y, zOffset + z, length, height, width);
+    }
+
+    /**
+     * Creates a view of the region between two positions within this clipboard (inclusive). The view shares the storage
+     * of this clipboard, so no blocks are copied.
+     *
+     * @param x1 The x position of the first corner.
+     * @param y1 The y position of the first corner.
+     * @param z1 The z position of the first corner.
+     * @param x2 The x position of the second corner.
+     * @param y2 The y position of the second corner.
+     * @param z2 The z position of the second corner.
+     * @return A clipboard of the given region.
+     * @throws IllegalArgumentException Thrown when the region is not within this clipboard.
+     * @see #subRegion(int, int, int, int, int, int)
+     */
+    public Clipboard crop(int x1, int y1, int z1, int x2, int y2, int z2) {
+        int lowX = Math.min(x1, x2), lowY = Math.min(y1, y2), lowZ = Math.min(z1, z2);
+        return subRegion(lowX, lowY, lowZ,
+                Math.abs(x1 - x2) + 1, Math.abs(y1 - y2) + 1, Math.abs(z1 - z2) + 1);
+    }
+
+    /**
+     * Creates a view of this clipboard with all surrounding air removed. The view shares the storage of this
+     * clipboard, so no blocks are copied.
+     *
+     * @return The smallest clipboard containing every non-air block; {@code null} if this clipboard only contains air.
+     * @see #subRegion(int, int, int, int, int, int)
+     */
+    @Nullable
+    public Clipboard trimAir() {
+        int lowX = length, lowY = height, lowZ = width;
+        int highX = -1, highY = -1, highZ = -1;
+        for (int x = 0; x < length; x++) {
+            BlockData[][] plane = blocks[xOffset + x];
+            for (int y = 0; y < height; y++) {
+                BlockData[] column = plane[yOffset + y];
+                for (int z = 0; z < width; z++) {
+                    if (column[zOffset + z].getMaterial().isAir())
+                        continue;
+                    lowX = Math.min(lowX, x);
+                    lowY = Math.min(lowY, y);
+                    lowZ = Math.min(lowZ, z);
+                    highX = Math.max(highX, x);
+                    highY = Math.max(highY, y);
+                    highZ = Math.max(highZ, z);
+                }
+            }
+        }
+        if (highX == -1)
+            return null;
+        return crop(lowX, lowY, lowZ, highX, highY, highZ);
     }
 
     /**
@@ -145,7 +279,7 @@ public class Clipboard {
         for (int x = 0; x < length; x++) {
             for (int y = 0; y < height; y++) {
                 for (int z = 0; z < width; z++) {
-                    rotation[z][y][x] = this.blocks[x][y][z];
+                    rotation[z][y][x] = this.blocks[xOffset + x][yOffset + y][zOffset + z];
                 }
             }
         }
@@ -205,14 +339,8 @@ public class Clipboard {
         if (direction == null)
             direction = Direction.NORTH;
 
-        // Behaviors of the direction
-        int incX = direction.increasesX().intValue(), incZ = direction.increasesZ().intValue();
-
         // Follows a directional pattern to get the difference from the location.
-        // Possible values of xDiff and zDiff are -1, 0, or 1.
-        Direction nextDir = direction.getNextDirection();
-        int xDiff = incX == 0 ? nextDir.increasesX().intValue() : incX;
-        int zDiff = incZ == 0 ? nextDir.increasesZ().intValue() : incZ;
+        int xDiff = xStep(direction), zDiff = zStep(direction);
 
         // Copies the previous state into a new clipboard
         Clipboard previousState = null;
@@ -226,7 +354,7 @@ public class Clipboard {
             for (int y = 0; y < height; y++) {
                 for (int z = 0; Math.abs(z) < width; z += zDiff) {
                     // The current BlockData
-                    BlockData data = blocks[Math.abs(x)][y][Math.abs(z)];
+                    BlockData data = blocks[xOffset + Math.abs(x)][yOffset + y][zOffset + Math.abs(z)];
                     // Consider fill behavior
                     if (!fill && data.getMaterial().equals(XMaterial.AIR.parseMaterial()))
                         continue;
@@ -240,6 +368,28 @@ public class Clipboard {
         return previousState;
     }
 
+    /**
+     * Gets the step taken along the x-axis when pasting in the given direction.
+     *
+     * @param direction The direction of the paste.
+     * @return Returns {@code 1} if the paste increases the x coordinate; {@code -1} otherwise.
+     */
+    static int xStep(Direction direction) {
+        int incX = direction.increasesX().intValue();
+        return incX == 0 ? direction.getNextDirection().increasesX().intValue() : incX;
+    }
+
+    /**
+     * Gets the step taken along the z-axis when pasting in the given direction.
+     *
+     * @param direction The direction of the paste.
+     * @return Returns {@code 1} if the paste increases the z coordinate; {@code -1} otherwise.
+     */
+    static int zStep(Direction direction) {
+        int incZ = direction.increasesZ().intValue();
+        return incZ == 0 ? direction.getNextDirection().increasesZ().intValue() : incZ;
+    }
+
     /**
      * Copies the area that this paste action will cover into a new clipboard.
      *
@@ -249,13 +399,31 @@ public class Clipboard {
      * @return The current state of the selection
      */
     private Clipboard getCurrentState(Location loc1, int xDiff, int zDiff) {
-        // Subtract 1 from x,y,z to not include loc1 twice
+        // Step one less than each dimension to not include loc1 twice
         Location loc2 = new Location(loc1.getWorld(),
-                loc1.getBlockX() + xDiff * length,
-                loc1.getBlockY() + height,
-                loc1.getBlockZ() + zDiff * width)
-                .subtract(1, 1, 1);
+                loc1.getBlockX() + xDiff * (length - 1),
+                loc1.getBlockY() + height - 1,
+                loc1.getBlockZ() + zDiff * (width - 1));
         Selection selection = new Selection(loc1, loc2);
         return new Clipboard(selection);
     }
+
+    /**
+     * Gets the lowest corner of the area that pasting this clipboard at a given location and direction will cover. The
+     * previous state returned by {@link #paste(Location, Direction, boolean)} is restored by pasting it at this corner
+     * in the {@link Direction#EAST} direction, which increases both the x and z coordinates.
+     *
+     * @param loc       The location of the paste.
+     * @param direction The direction of the paste.
+     * @return The lowest corner of the pasted area.
+     */
+    Location pasteCorner(Location loc, Direction direction) {
+        if (direction == null)
+            direction = Direction.NORTH;
+        int xDiff = xStep(direction), zDiff = zStep(direction);
+        return new Location(loc.getWorld(),
+                Math.min(loc.getBlockX(), loc.getBlockX() + xDiff * (length - 1)),
+                loc.getBlockY(),
+                Math.min(loc.getBlockZ(), loc.getBlockZ() + zDiff * (width - 1)));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,230 @@
+package me.darrionat.pluginlib.schematic;
+
+import me.darrionat.pluginlib.Plugin;
+import me.darrionat.pluginlib.schematic.files.BuildCodec;
+import org.bukkit.Location;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * Represents a bounded undo and redo history of {@link Clipboard} pastes.
+ * <p>
+ * The most recent states are held on the heap so that undoing recent actions is instant. Once the states held on the
+ * heap exceed the block limit, the oldest states are spilled to temporary files compressed with {@link
+ * BuildCodec#PREDICTIVE}. Once the history exceeds its entry limit, the oldest states are discarded entirely.
+ * <p>
+ * Histories are not thread safe and should only be used on the main thread.
+ *
+ * @see HistoryManager
+ */
+public class ClipboardHistory {
+    private final Plugin plugin;
+    /**
+     * The maximum amount of blocks held on the heap across all states.
+     */
+    private final long maxHeapBlocks;
+    /**
+     * The maximum amount of states that can be undone.
+     */
+    private final int maxEntries;
+    /**
+     * The states that can be undone, with the most recent first.
+     */
+    private final Deque<HistoryEntry> undo = new ArrayDeque<>();
+    /**
+     * The states that can be redone, with the most recent first.
+     */
+    private final Deque<HistoryEntry> redo = new ArrayDeque<>();
+    /**
+     * The amount of blocks currently held on the heap.
+     */
+    private long heapBlocks = 0;
+    /**
+     * The amount of blocks held on the heap by states that are currently being spilled.
+     */
+    private long spillingBlocks = 0;
+
+    /**
+     * Creates a new {@code ClipboardHistory}.
+     *
+     * @param plugin        The plugin that spills states to disk.
+     * @param maxHeapBlocks The maximum amount of blocks held on the heap before the oldest states are spilled to disk.
+     *                      The most recent state is always kept on the heap.
+     * @param maxEntries    The maximum amount of states that can be undone.
+     * @throws IllegalArgumentException Thrown when either limit is negative or the entry limit is zero.
+     */
+    public ClipboardHistory(Plugin plugin, long maxHeapBlocks, int maxEntries) {
+        if (maxHeapBlocks < 0 || maxEntries <= 0)
+            throw new IllegalArgumentException("History limits must be positive");
+        this.plugin = plugin;
+        this.maxHeapBlocks = maxHeapBlocks;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Pastes a clipboard and records the previous state of the pasted area so that it can be undone. Recording a paste
+     * clears the redo history.
+     *
+     * @param clipboard The clipboard to paste.
+     * @param loc       The location to paste at.
+     * @param direction The direction of which to paste.
+     * @param fill      If {@code true}, blocks in the pasted location will be removed if the clipboard contains air
+     *                  for that location.
+     * @see Clipboard#paste(Location, Direction, boolean)
+     */
+    public void paste(Clipboard clipboard, Location loc, Direction direction, boolean fill) {
+        Objects.requireNonNull(clipboard, "Clipboard is null");
+        Location corner = clipboard.pasteCorner(loc, direction);
+        Clipboard previousState = clipboard.paste(loc, direction, fill);
+        clear(redo);
+        push(undo, new HistoryEntry(previousState, corner));
+    }
+
+    /**
+     * Undoes the most recent paste, restoring the previous state of its area.
+     *
+     * @return Returns {@code true} if a paste was undone; {@code false} if there is nothing to undo.
+     * @throws IOException Thrown when a spilled state cannot be read.
+     */
+    public boolean undo() throws IOException {
+        return restore(undo, redo);
+    }
+
+    /**
+     * Redoes the most recently undone paste.
+     *
+     * @return Returns {@code true} if a paste was redone; {@code false} if there is nothing to redo.
+     * @throws IOException Thrown when a spilled state cannot be read.
+     */
+    public boolean redo() throws IOException {
+        return restore(redo, undo);
+    }
+
+    /**
+     * Restores the most recent state of one stack and records the replaced state onto the other.
+     *
+     * @param from The stack to restore from.
+     * @param to   The stack to record the replaced state onto.
+     * @return Returns {@code true} if a state was restored; {@code false} if {@code from} is empty.
+     * @throws IOException Thrown when a spilled state cannot be read.
+     */
+    private boolean restore(Deque<HistoryEntry> from, Deque<HistoryEntry> to) throws IOException {
+        HistoryEntry entry = from.peekFirst();
+        if (entry == null)
+            return false;
+        Clipboard state = entry.load();
+        from.removeFirst();
+        remove(entry);
+        // EAST increases both the x and z coordinates, so the state is pasted from its lowest corner
+        Clipboard replaced = state.paste(entry.getCorner(), Direction.EAST, true);
+        push(to, new HistoryEntry(replaced, entry.getCorner()));
+        return true;
+    }
+
+    /**
+     * Pushes a new state onto a stack and enforces the limits of the history.
+     *
+     * @param stack The stack to push onto.
+     * @param entry The state to push.
+     */
+    private void push(Deque<HistoryEntry> stack, HistoryEntry entry) {
+        stack.addFirst(entry);
+        heapBlocks += entry.getVolume();
+        while (stack.size() > maxEntries)
+            remove(stack.removeLast());
+        // Spill the oldest undo states first, then the oldest redo states
+        spillOldest(undo.descendingIterator(), entry);
+        spillOldest(redo.descendingIterator(), entry);
+    }
+
+    /**
+     * Spills states until the heap limit is met or the iterator is exhausted.
+     *
+     * @param oldestFirst An iterator of states starting with the oldest.
+     * @param newest      The most recent state, which is always kept on the heap.
+     */
+    private void spillOldest(Iterator<HistoryEntry> oldestFirst, HistoryEntry newest) {
+        while (heapBlocks - spillingBlocks > maxHeapBlocks && oldestFirst.hasNext()) {
+            HistoryEntry entry = oldestFirst.next();
+            if (entry == newest || !entry.isOnHeap() || entry.isSpilling())
+                continue;
+            spillingBlocks += entry.getVolume();
+            entry.scheduleSpill(plugin, spilled -> spillFinished(entry, spilled));
+        }
+    }
+
+    /**
+     * Ran on the main thread once a state has finished spilling. The state only stops counting towards the heap usage
+     * once it was written to disk; a state that failed to spill stays on the heap and may be spilled again later.
+     *
+     * @param entry   The state that was spilled.
+     * @param spilled Whether the state was released from the heap.
+     */
+    private void spillFinished(HistoryEntry entry, boolean spilled) {
+        spillingBlocks -= entry.getVolume();
+        if (spilled)
+            heapBlocks -= entry.getVolume();
+    }
+
+    /**
+     * Discards a state that was removed from a stack.
+     *
+     * @param entry The removed state.
+     */
+    private void remove(HistoryEntry entry) {
+        if (entry.isSpilling())
+            spillingBlocks -= entry.getVolume();
+        if (entry.isOnHeap())
+            heapBlocks -= entry.getVolume();
+        entry.discard();
+    }
+
+    /**
+     * Discards all states of a stack.
+     *
+     * @param stack The stack to clear.
+     */
+    private void clear(Deque<HistoryEntry> stack) {
+        stack.forEach(this::remove);
+        stack.clear();
+    }
+
+    /**
+     * Discards the entire history, deleting any spilled states.
+     */
+    public void clear() {
+        clear(undo);
+        clear(redo);
+    }
+
+    /**
+     * Gets the amount of pastes that can be undone.
+     *
+     * @return The size of the undo history.
+     */
+    public int getUndoSize() {
+        return undo.size();
+    }
+
+    /**
+     * Gets the amount of pastes that can be redone.
+     *
+     * @return The size of the redo history.
+     */
+    public int getRedoSize() {
+        return redo.size();
+    }
+
+    /**
+     * Gets the amount of blocks held on the heap by this history.
+     *
+     * @return The amount of blocks that have not been spilled to disk.
+     */
+    public long getHeapBlocks() {
+        return heapBlocks;
+    }
+}
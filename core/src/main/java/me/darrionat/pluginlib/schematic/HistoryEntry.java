@@ -0,0 +1,200 @@
+package me.darrionat.pluginlib.schematic;
+
+import me.darrionat.pluginlib.Plugin;
+import me.darrionat.pluginlib.schematic.files.BuildCodec;
+import me.darrionat.pluginlib.schematic.files.CompressionHandler;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Represents a single state held within a {@link ClipboardHistory}.
+ * <p>
+ * The state is held on the heap until it is spilled, at which point it is written to a compressed file within the
+ * {@link SpillDirectory} of the plugin and only loaded again when needed. The file is deleted once the entry is
+ * discarded.
+ */
+class HistoryEntry {
+    /**
+     * The lowest corner of the area the state belongs to.
+     */
+    private final Location corner;
+    /**
+     * The amount of blocks within the state.
+     */
+    private final long volume;
+    /**
+     * The state while it is held on the heap; {@code null} once spilled.
+     */
+    private Clipboard clipboard;
+    /**
+     * The file the state was spilled to; {@code null} while held on the heap.
+     */
+    private File file;
+    /**
+     * Whether the entry has been removed from its history.
+     */
+    private boolean discarded = false;
+    /**
+     * Whether the state counts towards the heap usage of its history. This is only accessed on the main thread.
+     */
+    private boolean onHeap = true;
+    /**
+     * Whether the state is currently being spilled. This is only accessed on the main thread.
+     */
+    private boolean spilling = false;
+
+    /**
+     * Creates a new entry held on the heap.
+     *
+     * @param clipboard The state of the area.
+     * @param corner    The lowest corner of the area.
+     */
+    HistoryEntry(Clipboard clipboard, Location corner) {
+        this.clipboard = clipboard;
+        this.corner = corner;
+        this.volume = (long) clipboard.getLength() * clipboard.getHeight() * clipboard.getWidth();
+    }
+
+    /**
+     * Gets the lowest corner of the area the state belongs to.
+     *
+     * @return The corner to restore the state at.
+     */
+    Location getCorner() {
+        return corner;
+    }
+
+    /**
+     * Gets the amount of blocks within the state.
+     *
+     * @return The volume of the state.
+     */
+    long getVolume() {
+        return volume;
+    }
+
+    /**
+     * Determines if the state counts towards the heap usage of its history.
+     *
+     * @return Returns {@code true} if the state has not been spilled; {@code false} otherwise.
+     */
+    boolean isOnHeap() {
+        return onHeap;
+    }
+
+    /**
+     * Determines if the state is currently being spilled.
+     *
+     * @return Returns {@code true} if a spill has been scheduled and has not finished; {@code false} otherwise.
+     */
+    boolean isSpilling() {
+        return spilling;
+    }
+
+    /**
+     * Schedules the state to be spilled to a temporary file asynchronously. The state keeps counting towards the heap
+     * usage of its history until the spill has succeeded.
+     *
+     * @param plugin   The plugin to run the tasks for.
+     * @param finished Ran on the main thread once the spill has finished, given whether the state was spilled. Not ran
+     *                 if the entry was discarded in the meantime.
+     * @see #spill(Plugin, SpillDirectory)
+     */
+    void scheduleSpill(Plugin plugin, Consumer<Boolean> finished) {
+        if (!onHeap || spilling) return;
+        spilling = true;
+        SpillDirectory directory = SpillDirectory.get(plugin);
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            boolean spilled = spill(plugin, directory);
+            if (!plugin.isEnabled())
+                return;
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                spilling = false;
+                if (isDiscarded())
+                    return;
+                if (spilled)
+                    onHeap = false;
+                finished.accept(spilled);
+            });
+        });
+    }
+
+    /**
+     * Writes the state to a compressed file and releases it from the heap. This may be run asynchronously.
+     *
+     * @param plugin    The plugin to log failures to.
+     * @param directory The directory to write the file to.
+     * @return Returns {@code true} if the state was released from the heap; {@code false} if the entry was discarded
+     * or the state could not be written, in which case it stays on the heap.
+     */
+    private boolean spill(Plugin plugin, SpillDirectory directory) {
+        Clipboard toSpill;
+        synchronized (this) {
+            if (discarded || clipboard == null)
+                return false;
+            toSpill = clipboard;
+        }
+        File spillFile = null;
+        try {
+            spillFile = directory.createFile();
+            CompressionHandler.saveCompressedBuild(toSpill, spillFile, BuildCodec.PREDICTIVE);
+        } catch (IOException e) {
+            if (spillFile != null)
+                spillFile.delete();
+            plugin.getLogger().log(Level.WARNING, "Unable to spill a history state to disk, keeping it on the heap", e);
+            return false;
+        }
+        synchronized (this) {
+            if (discarded) {
+                spillFile.delete();
+                return false;
+            }
+            file = spillFile;
+            clipboard = null;
+            return true;
+        }
+    }
+
+    /**
+     * Determines if the entry has been removed from its history.
+     *
+     * @return Returns {@code true} if the entry was discarded; {@code false} otherwise.
+     */
+    synchronized boolean isDiscarded() {
+        return discarded;
+    }
+
+    /**
+     * Loads the state, reading it from its file if it was spilled.
+     *
+     * @return The state of the area.
+     * @throws IOException Thrown when the spilled state cannot be read.
+     */
+    synchronized Clipboard load() throws IOException {
+        if (clipboard != null)
+            return clipboard;
+        if (file == null)
+            throw new IOException("History entry was discarded");
+        Clipboard loaded = CompressionHandler.loadCompressedBuild(file);
+        if (loaded == null)
+            throw new IOException("Failed to load " + file.getName());
+        return loaded;
+    }
+
+    /**
+     * Discards the state and deletes its file, if spilled.
+     */
+    synchronized void discard() {
+        discarded = true;
+        clipboard = null;
+        if (file != null) {
+            file.delete();
+            file = null;
+        }
+    }
+}
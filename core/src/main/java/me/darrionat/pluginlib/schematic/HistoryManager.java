@@ -0,0 +1,77 @@
+package me.darrionat.pluginlib.schematic;
+
+import me.darrionat.pluginlib.Plugin;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Manages a {@link ClipboardHistory} for each player or session.
+ * <p>
+ * Every history created by the manager shares the same limits.
+ */
+public class HistoryManager {
+    private final Plugin plugin;
+    private final long maxHeapBlocks;
+    private final int maxEntries;
+    /**
+     * The histories, keyed by the id of the player or session they belong to.
+     */
+    private final Map<UUID, ClipboardHistory> histories = new HashMap<>();
+
+    /**
+     * Creates a new {@code HistoryManager}.
+     *
+     * @param plugin        The plugin that spills states to disk.
+     * @param maxHeapBlocks The maximum amount of blocks each history holds on the heap.
+     * @param maxEntries    The maximum amount of states each history can undo.
+     * @see ClipboardHistory#ClipboardHistory(Plugin, long, int)
+     */
+    public HistoryManager(Plugin plugin, long maxHeapBlocks, int maxEntries) {
+        if (maxHeapBlocks < 0 || maxEntries <= 0)
+            throw new IllegalArgumentException("History limits must be positive");
+        this.plugin = plugin;
+        this.maxHeapBlocks = maxHeapBlocks;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Gets the history of a player or session, creating it if it does not exist.
+     *
+     * @param id The id of the player or session.
+     * @return The history belonging to the id.
+     */
+    public ClipboardHistory getHistory(UUID id) {
+        return histories.computeIfAbsent(id, key -> new ClipboardHistory(plugin, maxHeapBlocks, maxEntries));
+    }
+
+    /**
+     * Determines if a player or session has a history.
+     *
+     * @param id The id of the player or session.
+     * @return Returns {@code true} if a history exists for the id; {@code false} otherwise.
+     */
+    public boolean hasHistory(UUID id) {
+        return histories.containsKey(id);
+    }
+
+    /**
+     * Removes and clears the history of a player or session. This should be ran when a player leaves.
+     *
+     * @param id The id of the player or session.
+     */
+    public void removeHistory(UUID id) {
+        ClipboardHistory history = histories.remove(id);
+        if (history != null)
+            history.clear();
+    }
+
+    /**
+     * Removes and clears all histories.
+     */
+    public void clear() {
+        histories.values().forEach(ClipboardHistory::clear);
+        histories.clear();
+    }
+}
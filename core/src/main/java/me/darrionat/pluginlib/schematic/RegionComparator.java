@@ -0,0 +1,148 @@
+package me.darrionat.pluginlib.schematic;
+
+import me.darrionat.pluginlib.Plugin;
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Compares a {@link Clipboard} against the blocks currently within a {@code World}.
+ * <p>
+ * The region is read through {@link ChunkSnapshot}s, so only the capture of the snapshots must take place on the main
+ * thread. The comparison itself is able to run asynchronously.
+ *
+ * @see #compare(Clipboard, Location, Direction, boolean)
+ * @see #compareAsync(Plugin, Clipboard, Location, Direction, boolean)
+ */
+public class RegionComparator {
+    /**
+     * Compares a clipboard against the region it would cover if pasted at a given location and direction. The
+     * comparison runs entirely on the calling thread, which must be the main thread.
+     *
+     * @param clipboard The clipboard to compare.
+     * @param loc       The location the clipboard would be pasted at.
+     * @param direction The direction the clipboard would be pasted in.
+     * @param fill      If {@code false}, air within the clipboard is ignored as it would be when pasting.
+     * @return The differences between the clipboard and the world.
+     * @see Clipboard#paste(Location, Direction, boolean)
+     */
+    public static RegionDiff compare(Clipboard clipboard, Location loc, Direction direction, boolean fill) {
+        return capture(clipboard, loc, direction, fill).compare();
+    }
+
+    /**
+     * Compares a clipboard against the region it would cover if pasted at a given location and direction. The chunk
+     * snapshots are captured immediately, which must be done on the main thread, and the comparison is then run
+     * asynchronously.
+     *
+     * @param plugin    The plugin to run the comparison for.
+     * @param clipboard The clipboard to compare.
+     * @param loc       The location the clipboard would be pasted at.
+     * @param direction The direction the clipboard would be pasted in.
+     * @param fill      If {@code false}, air within the clipboard is ignored as it would be when pasting.
+     * @return A future that completes with the differences between the clipboard and the world.
+     * @see Clipboard#paste(Location, Direction, boolean)
+     */
+    public static CompletableFuture<RegionDiff> compareAsync(Plugin plugin, Clipboard clipboard, Location loc,
+                                                             Direction direction, boolean fill) {
+        Capture capture = capture(clipboard, loc, direction, fill);
+        CompletableFuture<RegionDiff> future = new CompletableFuture<>();
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                future.complete(capture.compare());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Captures the chunk snapshots of the region the clipboard would cover.
+     *
+     * @param clipboard The clipboard to compare.
+     * @param loc       The location the clipboard would be pasted at.
+     * @param direction The direction the clipboard would be pasted in.
+     * @param fill      If {@code false}, air within the clipboard is ignored.
+     * @return The captured state of the region.
+     */
+    private static Capture capture(Clipboard clipboard, Location loc, Direction direction, boolean fill) {
+        Objects.requireNonNull(clipboard, "Clipboard is null");
+        Objects.requireNonNull(loc, "Location is null");
+        World world = loc.getWorld();
+        Objects.requireNonNull(world, "World is null");
+        // Default direction is arbitrarily NORTH, as it is when pasting
+        if (direction == null)
+            direction = Direction.NORTH;
+
+        int xStep = Clipboard.xStep(direction), zStep = Clipboard.zStep(direction);
+        int originX = loc.getBlockX(), originZ = loc.getBlockZ();
+        int farX = originX + xStep * (clipboard.getLength() - 1);
+        int farZ = originZ + zStep * (clipboard.getWidth() - 1);
+
+        int chunkMinX = Math.min(originX, farX) >> 4, chunkMaxX = Math.max(originX, farX) >> 4;
+        int chunkMinZ = Math.min(originZ, farZ) >> 4, chunkMaxZ = Math.max(originZ, farZ) >> 4;
+        int chunkColumns = chunkMaxZ - chunkMinZ + 1;
+        ChunkSnapshot[] snapshots = new ChunkSnapshot[(chunkMaxX - chunkMinX + 1) * chunkColumns];
+        for (int cx = chunkMinX; cx <= chunkMaxX; cx++) {
+            for (int cz = chunkMinZ; cz <= chunkMaxZ; cz++) {
+                // Biomes and heightmaps are never needed for block comparisons
+                snapshots[(cx - chunkMinX) * chunkColumns + (cz - chunkMinZ)] =
+                        world.getChunkAt(cx, cz).getChunkSnapshot(false, false, false);
+            }
+        }
+        return new Capture(clipboard, originX, loc.getBlockY(), originZ, xStep, zStep, fill,
+                world.getMinHeight(), world.getMaxHeight(), chunkMinX, chunkMinZ, chunkColumns, snapshots);
+    }
+
+    /**
+     * The state of a region captured on the main thread, ready to be compared on any thread.
+     */
+    private record Capture(Clipboard clipboard, int originX, int originY, int originZ, int xStep, int zStep,
+                           boolean fill, int minHeight, int maxHeight,
+                           int chunkMinX, int chunkMinZ, int chunkColumns, ChunkSnapshot[] snapshots) {
+        /**
+         * Compares the clipboard against the captured snapshots.
+         *
+         * @return The differences between the clipboard and the captured region.
+         */
+        RegionDiff compare() {
+            int length = clipboard.getLength(), height = clipboard.getHeight(), width = clipboard.getWidth();
+            BitSet changed = new BitSet(length * height * width);
+            boolean[] dirtyChunks = new boolean[snapshots.length];
+            int changedCount = 0;
+
+            for (int x = 0; x < length; x++) {
+                int worldX = originX + xStep * x;
+                int chunkRow = ((worldX >> 4) - chunkMinX) * chunkColumns;
+                for (int z = 0; z < width; z++) {
+                    int worldZ = originZ + zStep * z;
+                    int chunkIndex = chunkRow + ((worldZ >> 4) - chunkMinZ);
+                    ChunkSnapshot snapshot = snapshots[chunkIndex];
+                    for (int y = 0; y < height; y++) {
+                        int worldY = originY + y;
+                        // Nothing can be pasted outside the world, so it is never considered changed
+                        if (worldY < minHeight || worldY >= maxHeight)
+                            continue;
+                        BlockData data = clipboard.getBlock(x, y, z);
+                        if (!fill && data.getMaterial().isAir())
+                            continue;
+                        if (data.equals(snapshot.getBlockData(worldX & 15, worldY, worldZ & 15)))
+                            continue;
+                        changed.set((x * height + y) * width + z);
+                        dirtyChunks[chunkIndex] = true;
+                        changedCount++;
+                    }
+                }
+            }
+            return new RegionDiff(length, height, width, changed, changedCount,
+                    chunkMinX, chunkMinZ, chunkColumns, dirtyChunks);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package me.darrionat.pluginlib.schematic;
+
+import java.util.BitSet;
+
+/**
+ * Represents the result of comparing a {@link Clipboard} against the blocks currently within a {@code World}.
+ * <p>
+ * Changed blocks are stored within a bitmap that follows the indexing of the clipboard, {@code [x][y][z]}. Each chunk
+ * that the compared region touches also holds a dirty flag so that resets are able to skip untouched chunks.
+ *
+ * @see RegionComparator
+ */
+public class RegionDiff {
+    private final int length;
+    private final int height;
+    private final int width;
+    /**
+     * The changed blocks, indexed by {@code (x * height + y) * width + z}.
+     */
+    private final BitSet changed;
+    private final int changedCount;
+    /**
+     * The chunk coordinates of the lowest chunk the region touches.
+     */
+    private final int chunkMinX, chunkMinZ;
+    /**
+     * The amount of chunks the region touches on the z-axis.
+     */
+    private final int chunkColumns;
+    /**
+     * The dirty flags of the chunks, indexed by {@code (chunkX - chunkMinX) * chunkColumns + (chunkZ - chunkMinZ)}.
+     */
+    private final boolean[] dirtyChunks;
+    private final int dirtyChunkCount;
+
+    /**
+     * Creates a new {@code RegionDiff}. This should only be created through the {@link RegionComparator}.
+     *
+     * @param length       The length of the compared clipboard.
+     * @param height       The height of the compared clipboard.
+     * @param width        The width of the compared clipboard.
+     * @param changed      The bitmap of changed blocks.
+     * @param changedCount The amount of changed blocks.
+     * @param chunkMinX    The x coordinate of the lowest chunk touched.
+     * @param chunkMinZ    The z coordinate of the lowest chunk touched.
+     * @param chunkColumns The amount of chunks touched on the z-axis.
+     * @param dirtyChunks  The dirty flags of each chunk touched.
+     */
+    RegionDiff(int length, int height, int width, BitSet changed, int changedCount,
+               int chunkMinX, int chunkMinZ, int chunkColumns, boolean[] dirtyChunks) {
+        this.length = length;
+        this.height = height;
+        this.width = width;
+        this.changed = changed;
+        this.changedCount = changedCount;
+        this.chunkMinX = chunkMinX;
+        this.chunkMinZ = chunkMinZ;
+        this.chunkColumns = chunkColumns;
+        this.dirtyChunks = dirtyChunks;
+        int count = 0;
+        for (boolean dirty : dirtyChunks)
+            if (dirty) count++;
+        this.dirtyChunkCount = count;
+    }
+
+    /**
+     * Determines if any block within the region differs from the clipboard.
+     *
+     * @return Returns {@code true} if at least one block has changed; {@code false} otherwise.
+     */
+    public boolean isDirty() {
+        return changedCount != 0;
+    }
+
+    /**
+     * Gets the amount of blocks that differ from the clipboard.
+     *
+     * @return The amount of changed blocks.
+     */
+    public int getChangedCount() {
+        return changedCount;
+    }
+
+    /**
+     * Determines if the block at the given clipboard position differs from the world.
+     *
+     * @param x The x position within the clipboard.
+     * @param y The y position within the clipboard.
+     * @param z The z position within the clipboard.
+     * @return Returns {@code true} if the block has changed; {@code false} otherwise.
+     * @throws IndexOutOfBoundsException Thrown when the position is not within the clipboard.
+     */
+    public boolean isChanged(int x, int y, int z) {
+        if (x < 0 || x >= length || y < 0 || y >= height || z < 0 || z >= width)
+            throw new IndexOutOfBoundsException("Position is not within the clipboard");
+        return changed.get((x * height + y) * width + z);
+    }
+
+    /**
+     * Gets a copy of the bitmap of changed blocks. Each bit is indexed by {@code (x * height + y) * width + z}.
+     *
+     * @return The changed blocks as a bitmap.
+     */
+    public BitSet getChangedBlocks() {
+        return (BitSet) changed.clone();
+    }
+
+    /**
+     * Determines if the chunk at the given chunk coordinates contains any changed blocks.
+     *
+     * @param chunkX The x coordinate of the chunk.
+     * @param chunkZ The z coordinate of the chunk.
+     * @return Returns {@code true} if the chunk contains a changed block; {@code false} if the chunk is untouched or not
+     * within the compared region.
+     */
+    public boolean isChunkDirty(int chunkX, int chunkZ) {
+        int x = chunkX - chunkMinX, z = chunkZ - chunkMinZ;
+        if (x < 0 || z < 0 || z >= chunkColumns)
+            return false;
+        int index = x * chunkColumns + z;
+        return index < dirtyChunks.length && dirtyChunks[index];
+    }
+
+    /**
+     * Gets the amount of chunks that contain changed blocks.
+     *
+     * @return The amount of dirty chunks.
+     */
+    public int getDirtyChunkCount() {
+        return dirtyChunkCount;
+    }
+
+    /**
+     * Gets the amount of chunks that the compared region touches.
+     *
+     * @return The amount of chunks compared.
+     */
+    public int getChunkCount() {
+        return dirtyChunks.length;
+    }
+}
@@ -0,0 +1,91 @@
+package me.darrionat.pluginlib.schematic;
+
+import me.darrionat.pluginlib.Plugin;
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Represents the directory of a {@link Plugin} that {@link HistoryEntry} states are spilled to.
+ * <p>
+ * Spilled files are deleted by their entry once it is discarded. Files left behind by histories that were dropped
+ * without being cleared, or by a server that stopped abruptly, are deleted when the directory is first used and when
+ * the plugin is disabled.
+ */
+final class SpillDirectory implements Listener {
+    /**
+     * The name of the directory within the data folder of the plugin.
+     */
+    private static final String NAME = "history-spill";
+    private static SpillDirectory instance;
+
+    private final Plugin plugin;
+    private final File directory;
+
+    private SpillDirectory(Plugin plugin) {
+        this.plugin = plugin;
+        this.directory = new File(plugin.getDataFolder(), NAME);
+        // Files of a previous run are never loaded again
+        clear();
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+    }
+
+    /**
+     * Gets the spill directory of a plugin.
+     *
+     * @param plugin The plugin that spills states to disk.
+     * @return The spill directory of the plugin.
+     */
+    static synchronized SpillDirectory get(Plugin plugin) {
+        if (instance == null || instance.plugin != plugin) {
+            if (instance != null)
+                HandlerList.unregisterAll(instance);
+            instance = new SpillDirectory(plugin);
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a new, empty file to spill a state to. This may be run asynchronously.
+     *
+     * @return The created file.
+     * @throws IOException Thrown when the directory or the file cannot be created.
+     */
+    File createFile() throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory())
+            throw new IOException("Unable to create " + directory);
+        return File.createTempFile("state", ".build", directory);
+    }
+
+    /**
+     * Deletes every spilled file within the directory.
+     */
+    void clear() {
+        File[] files = directory.listFiles();
+        if (files == null) return;
+        for (File file : files)
+            file.delete();
+    }
+
+    /**
+     * Deletes every spilled file once the plugin is disabled.
+     *
+     * @param e The Event that is passed.
+     */
+    @EventHandler
+    public void onPluginDisable(PluginDisableEvent e) {
+        if (e.getPlugin() != plugin)
+            return;
+        clear();
+        HandlerList.unregisterAll(this);
+        synchronized (SpillDirectory.class) {
+            if (instance == this)
+                instance = null;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package me.darrionat.pluginlib.schematic.files;
+
+/**
+ * Represents the encodings a {@link CompressionHandler} is able to save a build with.
+ *
+ * @see CompressionHandler#saveCompressedBuild(me.darrionat.pluginlib.schematic.Clipboard, java.io.File, BuildCodec)
+ */
+public enum BuildCodec {
+    /**
+     * The text form of {@link BuildSerializer} compressed with GZIP. This is the original format and is still read by
+     * every version.
+     */
+    TEXT(0),
+    /**
+     * A palette of block data followed by a stream of palette indices. Each index is predicted from the block below it,
+     * or the block behind it, and only mispredictions and runs of correct predictions are stored before the stream is
+     * deflated. Builds have strong vertical and neighbor correlation, so this is far smaller than {@link #TEXT} and
+     * much faster to decode.
+     */
+    PREDICTIVE(1);
+
+    private final int id;
+
+    BuildCodec(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the id of this codec as it is stored within a file.
+     *
+     * @return The id of the codec.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Finds the codec with the given id.
+     *
+     * @param id The id stored within a file.
+     * @return Returns the codec with the given id; {@code null} if no such codec exists.
+     */
+    public static BuildCodec fromId(int id) {
+        for (BuildCodec codec : values())
+            if (codec.id == id)
+                return codec;
+        return null;
+    }
+}
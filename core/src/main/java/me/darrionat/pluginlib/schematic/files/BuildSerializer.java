@@ -33,7 +33,6 @@ public class BuildSerializer {
     public static String buildToString(@NotNull Clipboard build) {
         Objects.requireNonNull(build);
 
-        BlockData[][][] blocks = build.getBlocks();
         int length = build.getLength();
         int height = build.getHeight();
         int width = build.getWidth();
@@ -55,7 +54,7 @@ public class BuildSerializer {
                     // If it's not the first block in the column, add a new block separator
                     if (z != 0) builder.append(NEW_BLOCK);
 
-                    BlockData data = blocks[x][y][z];
+                    BlockData data = build.getBlock(x, y, z);
                     // Fetch the hash of this material
                     int hash = MaterialService.hash(data.getMaterial());
                     // Get the block data and hide all unspecified tags to optimize storage
@@ -73,6 +72,7 @@ public class BuildSerializer {
      *
      * @param buildData The data of the build to be loaded in.
      * @return The build loaded into a clipboard.
+     * @throws IllegalArgumentException Thrown when the data does not match the dimensions of the build.
      */
     public static Clipboard parseBuild(@NotNull String buildData) {
         int length = -1, height = -1, width = -1;
@@ -86,6 +86,9 @@ public class BuildSerializer {
                 length = dimensions[0];
                 height = dimensions[1];
                 width = dimensions[2];
+                int planes = lines.length - 1;
+                if (planes != length)
+                    throw new IllegalArgumentException("Expected " + length + " planes but found " + planes);
                 // x, y, z
                 data = new BlockData[length][height][width];
                 continue;
@@ -131,18 +134,23 @@ public class BuildSerializer {
      * @param height The height of the build.
      * @param width  The width of the build.
      * @return Returns a 2-dimensional array representing a {@code y-z} plane of block data from a build file.
-     * @throws NullPointerException Thrown when an unknown material is passed.
+     * @throws NullPointerException     Thrown when an unknown material is passed.
+     * @throws IllegalArgumentException Thrown when the plane does not match the dimensions of the build.
      */
     private static BlockData[][] parseBlockData(@NotNull String line, int height, int width) {
         BlockData[][] toReturn = new BlockData[height][width];
         // Splits the columns
         String[] cols = line.split(NEW_COLUMN);
+        if (cols.length != height)
+            throw new IllegalArgumentException("Expected " + height + " columns but found " + cols.length);
 
-        for (int y = 0; y < cols.length; y++) {
+        for (int y = 0; y < height; y++) {
             String col = cols[y];
             // Blocks within the column
             String[] blocks = col.split(NEW_BLOCK);
-            for (int z = 0; z < cols.length; z++) {
+            if (blocks.length != width)
+                throw new IllegalArgumentException("Expected " + width + " blocks but found " + blocks.length);
+            for (int z = 0; z < width; z++) {
                 // hash + DATA_SEP + blockData
                 String[] splitData = blocks[z].split(DATA_SEP);
                 int hash = Integer.parseInt(splitData[0]);
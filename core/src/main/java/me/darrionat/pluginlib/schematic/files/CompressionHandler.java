@@ -1,58 +1,135 @@
 package me.darrionat.pluginlib.schematic.files;
 
 import me.darrionat.pluginlib.schematic.Clipboard;
+import org.bukkit.Bukkit;
+import org.bukkit.block.data.BlockData;
 
 import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
 
 /**
- * Handles saving and loading {@link Clipboard} objects. This handler utilizes GZIP compression for high data
- * compression ratios.
+ * Handles saving and loading {@link Clipboard} objects. This handler utilizes compression for high data compression
+ * ratios.
+ * <p>
+ * Builds are able to be saved with any {@link BuildCodec}. The codec is detected when loading, so files of every codec
+ * can be loaded by {@link #loadCompressedBuild(File)}.
+ * <p>
+ * Builds loaded with {@link BuildCodec#PREDICTIVE} share a single {@link BlockData} instance between every block of the
+ * same palette entry. {@link Clipboard}s never modify their blocks, but callers that modify a block returned by {@link
+ * Clipboard#getBlock(int, int, int)} must {@link BlockData#clone()} it first.
  *
  * @see #saveCompressedBuild(Clipboard, File)
+ * @see #saveCompressedBuild(Clipboard, File, BuildCodec)
  * @see #loadCompressedBuild(File)
  */
 public class CompressionHandler {
+    /**
+     * The first bytes of every file not saved with {@link BuildCodec#TEXT}.
+     */
+    private static final byte[] MAGIC = {'P', 'L', 'B'};
+    /**
+     * The first bytes of every GZIP stream, which files saved with {@link BuildCodec#TEXT} begin with.
+     */
+    private static final int GZIP_MAGIC = 0x1F8B;
+    /**
+     * The largest amount of blocks a build is able to hold, bounded by the size of an array.
+     */
+    private static final long MAX_VOLUME = Integer.MAX_VALUE - 8;
+    /**
+     * The largest amount of palette entries allocated before any of them have been read.
+     */
+    private static final int INITIAL_PALETTE_CAPACITY = 256;
+
     /**
      * Saves a {@link Clipboard} object to a given file and utilizes GZIP compression.
      *
      * @param build       The clipboard to save.
      * @param destination The file to save the build to.
      * @throws IOException Thrown when an IOException occurs.
+     * @see BuildCodec#TEXT
      */
     public static void saveCompressedBuild(Clipboard build, File destination) throws IOException {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        GZIPOutputStream gzipOut = new GZIPOutputStream(baos);
+        saveCompressedBuild(build, destination, BuildCodec.TEXT);
+    }
+
+    /**
+     * Saves a {@link Clipboard} object to a given file with the given codec.
+     *
+     * @param build       The clipboard to save.
+     * @param destination The file to save the build to.
+     * @param codec       The codec to save the build with.
+     * @throws IOException Thrown when an IOException occurs.
+     */
+    public static void saveCompressedBuild(Clipboard build, File destination, BuildCodec codec) throws IOException {
+        try (OutputStream fos = new BufferedOutputStream(new FileOutputStream(destination))) {
+            if (codec == BuildCodec.TEXT) {
+                writeText(build, fos);
+                return;
+            }
+            fos.write(MAGIC);
+            fos.write(codec.getId());
+            writePredictive(build, fos);
+        }
+    }
+
+    /**
+     * Loads a compressed {@link Clipboard} object from a given file. The codec of the file is detected automatically.
+     *
+     * @param source The file to read from.
+     * @return The build that was read. Blocks of the same palette entry may share a {@link BlockData} instance.
+     * @throws IOException Thrown when an IOException occurs or the file is not a valid build.
+     */
+    public static Clipboard loadCompressedBuild(File source) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(source))) {
+            in.mark(MAGIC.length + 1);
+            int first = in.read(), second = in.read();
+            if (((first << 8) | second) == GZIP_MAGIC) {
+                in.reset();
+                return readText(in);
+            }
+            if (first != MAGIC[0] || second != MAGIC[1] || in.read() != MAGIC[2])
+                throw new IOException(source.getName() + " is not a build file");
+            BuildCodec codec = BuildCodec.fromId(in.read());
+            if (codec != BuildCodec.PREDICTIVE)
+                throw new IOException("Unknown codec within " + source.getName());
+            return readPredictive(in);
+        }
+    }
+
+    /**
+     * Writes a build as GZIP compressed text.
+     *
+     * @param build The build to write.
+     * @param out   The output to write to.
+     * @throws IOException Thrown when an IOException occurs.
+     * @see BuildCodec#TEXT
+     */
+    private static void writeText(Clipboard build, OutputStream out) throws IOException {
+        GZIPOutputStream gzipOut = new GZIPOutputStream(out);
         ObjectOutputStream objectOut = new ObjectOutputStream(gzipOut);
         // Write build to object output
         objectOut.writeObject(BuildSerializer.buildToString(build));
-        objectOut.close();
-        // Write build to file
-        FileOutputStream fos = new FileOutputStream(destination);
-        baos.writeTo(fos);
-        // Close things
+        objectOut.flush();
         gzipOut.finish();
-        gzipOut.close();
-        baos.close();
     }
 
     /**
-     * Loads an uncompressed {@link Clipboard} object from a given file.
+     * Reads a build stored as GZIP compressed text.
      *
-     * @param source The file to read from.
+     * @param in The input to read from.
+     * @return The build that was read.
      * @throws IOException Thrown when an IOException occurs.
+     * @see BuildCodec#TEXT
      */
-    public static Clipboard loadCompressedBuild(File source) throws IOException {
-        FileInputStream fin = new FileInputStream(source);
-        byte[] fileContent = new byte[(int) source.length()];
-        // Reads up to certain bytes of data from this input stream into an array of bytes.
-        fin.read(fileContent);
-
-        ByteArrayInputStream bais = new ByteArrayInputStream(fileContent);
-        GZIPInputStream gzipIn = new GZIPInputStream(bais);
-        ObjectInputStream objectIn = new ObjectInputStream(gzipIn);
-
+    private static Clipboard readText(InputStream in) throws IOException {
+        ObjectInputStream objectIn = new ObjectInputStream(new GZIPInputStream(in));
         String buildData;
         try {
             buildData = (String) objectIn.readObject();
@@ -60,7 +137,87 @@ public class CompressionHandler {
             e.printStackTrace();
             return null;
         }
-        objectIn.close();
         return BuildSerializer.parseBuild(buildData);
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes a build as a palette followed by predicted palette indices, deflated.
+     *
+     * @param build The build to write.
+     * @param out   The output to write to.
+     * @throws IOException Thrown when an IOException occurs.
+     * @see BuildCodec#PREDICTIVE
+     */
+    private static void writePredictive(Clipboard build, OutputStream out) throws IOException {
+        int length = build.getLength(), height = build.getHeight(), width = build.getWidth();
+        // Build the palette
+        Map<BlockData, Integer> paletteIndex = new HashMap<>();
+        List<String> palette = new ArrayList<>();
+        int[] indices = new int[length * height * width];
+        int i = 0;
+        for (int x = 0; x < length; x++) {
+            for (int y = 0; y < height; y++) {
+                for (int z = 0; z < width; z++) {
+                    BlockData data = build.getBlock(x, y, z);
+                    Integer index = paletteIndex.get(data);
+                    if (index == null) {
+                        index = palette.size();
+                        paletteIndex.put(data, index);
+                        palette.add(data.getAsString());
+                    }
+                    indices[i++] = index;
+                }
+            }
+        }
+
+        DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out);
+        DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(deflaterOut));
+        dataOut.writeInt(length);
+        dataOut.writeInt(height);
+        dataOut.writeInt(width);
+        dataOut.writeInt(palette.size());
+        for (String data : palette)
+            dataOut.writeUTF(data);
+        PredictiveCodec.write(dataOut, indices, height, width);
+        dataOut.flush();
+        deflaterOut.finish();
+    }
+
+    /**
+     * Reads a build stored as a palette followed by predicted palette indices.
+     *
+     * @param in The input to read from.
+     * @return The build that was read.
+     * @throws IOException Thrown when the data is malformed or an IOException occurs.
+     * @see BuildCodec#PREDICTIVE
+     */
+    private static Clipboard readPredictive(InputStream in) throws IOException {
+        DataInputStream dataIn = new DataInputStream(new BufferedInputStream(new InflaterInputStream(in)));
+        int length = dataIn.readInt(), height = dataIn.readInt(), width = dataIn.readInt();
+        if (length <= 0 || height <= 0 || width <= 0 || (long) length * height * width > MAX_VOLUME)
+            throw new IOException("Invalid dimensions");
+        // Every palette entry is used by at least one block
+        int paletteSize = dataIn.readInt();
+        if (paletteSize <= 0 || paletteSize > length * height * width)
+            throw new IOException("Invalid palette size " + paletteSize);
+        // The size is not trusted, so the palette only grows as entries are actually read
+        List<BlockData> entries = new ArrayList<>(Math.min(paletteSize, INITIAL_PALETTE_CAPACITY));
+        for (int i = 0; i < paletteSize; i++) {
+            try {
+                entries.add(Bukkit.createBlockData(dataIn.readUTF()));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid block data within the palette", e);
+            }
+        }
+        BlockData[] palette = entries.toArray(new BlockData[0]);
+
+        int[] indices = PredictiveCodec.read(dataIn, length, height, width, palette.length);
+        BlockData[][][] blocks = new BlockData[length][height][width];
+        int i = 0;
+        for (int x = 0; x < length; x++)
+            for (int y = 0; y < height; y++)
+                for (int z = 0; z < width; z++)
+                    blocks[x][y][z] = palette[indices[i++]];
+        return new Clipboard(blocks);
+    }
+}
@@ -0,0 +1,157 @@
+package me.darrionat.pluginlib.schematic.files;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Encodes the palette indices of a build for the {@link BuildCodec#PREDICTIVE} codec.
+ * <p>
+ * Indices are visited by {@code x}, then {@code y}, then {@code z}, following the layout of a {@code Clipboard}. Each
+ * index is predicted twice: first from the block below it (or, on the bottom layer, the block at the same position in
+ * the previous {@code x} plane), and then from the block behind it on the {@code z-axis}. The resulting symbols are
+ * <ul>
+ *     <li> {@code 0} when the first prediction is correct
+ *     <li> {@code 1} when the second prediction is correct
+ *     <li> {@code 2 + index} otherwise
+ * </ul>
+ * Runs of {@code 0} are written as a single varint {@code run << 1}, and every other symbol {@code s} is written as the
+ * varint {@code ((s - 1) << 1) | 1}. The output is expected to be passed through an entropy coder afterwards.
+ */
+class PredictiveCodec {
+    private static final int BELOW = 0;
+    private static final int BEHIND = 1;
+    private static final int LITERAL = 2;
+
+    /**
+     * Writes the palette indices of a build.
+     *
+     * @param out     The output to write to.
+     * @param indices The palette indices, indexed by {@code (x * height + y) * width + z}.
+     * @param height  The height of the build.
+     * @param width   The width of the build.
+     * @throws IOException Thrown when an IOException occurs.
+     */
+    static void write(DataOutput out, int[] indices, int height, int width) throws IOException {
+        int plane = height * width;
+        int run = 0;
+        for (int i = 0; i < indices.length; i++) {
+            int value = indices[i];
+            int symbol;
+            if (value == primary(indices, i, plane, width))
+                symbol = BELOW;
+            else if (i % width != 0 && value == indices[i - 1])
+                symbol = BEHIND;
+            else
+                symbol = LITERAL + value;
+
+            if (symbol == BELOW) {
+                run++;
+                continue;
+            }
+            if (run != 0) {
+                writeVarInt(out, run << 1);
+                run = 0;
+            }
+            writeVarInt(out, ((symbol - 1) << 1) | 1);
+        }
+        if (run != 0)
+            writeVarInt(out, run << 1);
+    }
+
+    /**
+     * Reads the palette indices of a build.
+     *
+     * @param in          The input to read from.
+     * @param length      The length of the build.
+     * @param height      The height of the build.
+     * @param width       The width of the build.
+     * @param paletteSize The amount of entries within the palette.
+     * @return The palette indices, indexed by {@code (x * height + y) * width + z}.
+     * @throws IOException Thrown when the data is malformed or an IOException occurs.
+     */
+    static int[] read(DataInput in, int length, int height, int width, int paletteSize) throws IOException {
+        int plane = height * width;
+        int[] indices = new int[length * plane];
+        int i = 0;
+        while (i < indices.length) {
+            int token = readVarInt(in);
+            if ((token & 1) == 0) {
+                int end = i + (token >>> 1);
+                if (token == 0 || end > indices.length)
+                    throw new IOException("Invalid run length");
+                for (; i < end; i++) {
+                    int predicted = primary(indices, i, plane, width);
+                    if (predicted == -1)
+                        throw new IOException("Unpredictable block");
+                    indices[i] = predicted;
+                }
+                continue;
+            }
+            int symbol = (token >>> 1) + 1;
+            int value;
+            if (symbol == BEHIND) {
+                if (i % width == 0)
+                    throw new IOException("Unpredictable block");
+                value = indices[i - 1];
+            } else {
+                value = symbol - LITERAL;
+                if (value >= paletteSize)
+                    throw new IOException("Palette index out of bounds");
+            }
+            indices[i++] = value;
+        }
+        return indices;
+    }
+
+    /**
+     * Gets the first prediction for an index, which is the block below it or, on the bottom layer, the block at the
+     * same position within the previous {@code x} plane.
+     *
+     * @param indices The palette indices.
+     * @param i       The position being predicted.
+     * @param plane   The size of a {@code y-z} plane.
+     * @param width   The width of the build.
+     * @return The predicted index; {@code -1} if there is no prediction.
+     */
+    private static int primary(int[] indices, int i, int plane, int width) {
+        if (i % plane >= width)
+            return indices[i - width];
+        if (i >= plane)
+            return indices[i - plane];
+        return -1;
+    }
+
+    /**
+     * Writes an unsigned variable-length integer, seven bits at a time.
+     *
+     * @param out   The output to write to.
+     * @param value The value to write.
+     * @throws IOException Thrown when an IOException occurs.
+     */
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Reads an unsigned variable-length integer.
+     *
+     * @param in The input to read from.
+     * @return The value read.
+     * @throws IOException Thrown when the value is malformed or an IOException occurs.
+     */
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+}
@@ -0,0 +1,166 @@
+package me.darrionat.pluginlib.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents a histogram of durations that is able to be recorded to from any thread without locking.
+ * <p>
+ * Durations are recorded in nanoseconds into log-linear buckets: every power of two is split into eight buckets of
+ * equal width. Recording a duration is a single atomic increment, and every percentile is accurate to within
+ * {@code 12.5%} of the recorded value.
+ */
+public final class LatencyHistogram {
+    /**
+     * The amount of bits used to split each power of two into linear buckets.
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /**
+     * The amount of buckets needed to hold every positive {@code long}.
+     */
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos The duration in nanoseconds. Negative durations are recorded as {@code 0}.
+     */
+    public void record(long nanos) {
+        nanos = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketOf(nanos));
+        count.increment();
+        total.add(nanos);
+        if (nanos > max.get())
+            max.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Records the time that has passed since a given time.
+     *
+     * @param startNanos The start of the duration, as given by {@link System#nanoTime()}.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Gets the bucket a value is recorded in.
+     *
+     * @param value The value, which must not be negative.
+     * @return The index of the bucket.
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Gets the highest value recorded within a bucket.
+     *
+     * @param bucket The index of the bucket.
+     * @return The highest value of the bucket.
+     */
+    private static long highestOf(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + (subBucket + 1) * width - 1;
+    }
+
+    /**
+     * Gets the amount of durations recorded.
+     *
+     * @return The amount of recorded durations.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gets the mean of the recorded durations.
+     *
+     * @return The mean duration in nanoseconds; {@code 0} if nothing has been recorded.
+     */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) total.sum() / count;
+    }
+
+    /**
+     * Gets the longest recorded duration.
+     *
+     * @return The maximum duration in nanoseconds.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets a percentile of the recorded durations.
+     *
+     * @param percentile The percentile to get, between {@code 0} and {@code 100}.
+     * @return The duration in nanoseconds that the given percent of durations are less than or equal to; {@code 0} if
+     * nothing has been recorded.
+     */
+    public long getPercentile(double percentile) {
+        long count = getCount();
+        if (count == 0)
+            return 0;
+        long target = Math.max(1, (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= target)
+                return Math.min(highestOf(i), getMax());
+        }
+        return getMax();
+    }
+
+    /**
+     * Discards every recorded duration. Durations recorded while resetting may be partially discarded.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++)
+            buckets.set(i, 0);
+        count.reset();
+        total.reset();
+        max.set(0);
+    }
+
+    /**
+     * Formats a duration in nanoseconds as milliseconds.
+     *
+     * @param nanos The duration in nanoseconds.
+     * @return The duration in milliseconds with two decimal places.
+     */
+    public static String toMillis(double nanos) {
+        return String.format("%.2fms", nanos / TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    /**
+     * Summarizes the histogram as its count, mean, percentiles and maximum.
+     *
+     * @return The summary of the histogram.
+     */
+    @Override
+    public String toString() {
+        return "n=" + getCount()
+                + " mean=" + toMillis(getMean())
+                + " p50=" + toMillis(getPercentile(50))
+                + " p99=" + toMillis(getPercentile(99))
+                + " max=" + toMillis(getMax());
+    }
+}
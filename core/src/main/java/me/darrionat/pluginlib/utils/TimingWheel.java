@@ -0,0 +1,227 @@
+package me.darrionat.pluginlib.utils;
+
+import java.util.Arrays;
+
+/**
+ * Represents a hierarchical timing wheel that expires keys made of two {@code long}s, such as the bits of a {@link
+ * java.util.UUID}.
+ * <p>
+ * Time is divided into ticks of a fixed length. The wheel has four levels of 64 slots, where each slot of a level spans
+ * 64 times the slots of the level below it. Scheduling a key is a single append to the slot of its deadline, and keys
+ * are moved down a level once their slot comes due, so advancing the wheel only touches keys that are close to
+ * expiring. Deadlines beyond the last level are clamped and scheduled again when they are reached.
+ * <p>
+ * Each level keeps a bit mask of its occupied slots, so advancing skips straight to the next tick that has a slot to
+ * expire or cascade. Advancing after a long idle period therefore costs a few steps per level rather than a step per
+ * tick.
+ * <p>
+ * The wheel is not thread-safe.
+ */
+public final class TimingWheel {
+    /**
+     * The amount of bits of a tick used to pick a slot within a level.
+     */
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    /**
+     * The furthest amount of ticks ahead a key is able to be scheduled.
+     */
+    private static final long MAX_DELAY = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    /**
+     * The length of a tick in milliseconds.
+     */
+    private final long tickMillis;
+    /**
+     * The entries of each slot of each level, stored as consecutive triples of the deadline tick and both halves of the
+     * key.
+     */
+    private final long[][][] slots = new long[LEVELS][SLOTS][];
+    /**
+     * The amount of values used within each slot.
+     */
+    private final int[][] lengths = new int[LEVELS][SLOTS];
+    /**
+     * The slots of each level that contain entries, as a bit per slot.
+     */
+    private final long[] occupied = new long[LEVELS];
+    /**
+     * The last tick the wheel was advanced to.
+     */
+    private long currentTick;
+    private int size = 0;
+
+    /**
+     * Creates a new {@code TimingWheel}.
+     *
+     * @param tickMillis  The length of a tick in milliseconds.
+     * @param startMillis The current time in milliseconds.
+     */
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0)
+            throw new IllegalArgumentException("The length of a tick must be positive");
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Schedules a key to expire. A key may be scheduled more than once, in which case it expires once for each time it
+     * was scheduled.
+     *
+     * @param deadlineMillis The time the key expires in milliseconds. Keys are expired up to one tick late.
+     * @param high           The first half of the key.
+     * @param low            The second half of the key.
+     */
+    public void schedule(long deadlineMillis, long high, long low) {
+        // Round up so keys never expire early
+        long deadline = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        insert(Math.max(deadline, currentTick + 1), high, low);
+        size++;
+    }
+
+    /**
+     * Advances the wheel to the current time, expiring every key whose deadline has passed.
+     *
+     * @param nowMillis The current time in milliseconds.
+     * @param expiry    Ran for each key that expires.
+     */
+    public void advance(long nowMillis, Expiry expiry) {
+        long target = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < target) {
+            long next = size == 0 ? Long.MAX_VALUE : nextEventTick();
+            // Every tick before the next event would only visit empty slots
+            if (next > target) {
+                currentTick = target;
+                return;
+            }
+            currentTick = next;
+            // Move keys down from the highest level whose slot came due
+            for (int level = LEVELS - 1; level > 0; level--)
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0)
+                    cascade(level, (int) (currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            expire((int) currentTick & SLOT_MASK, expiry);
+        }
+    }
+
+    /**
+     * Gets the next tick on which a slot that contains entries is expired or cascaded.
+     *
+     * @return The next tick with work to do; {@code Long.MAX_VALUE} if every slot is empty.
+     */
+    private long nextEventTick() {
+        long next = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++) {
+            if (occupied[level] == 0)
+                continue;
+            int shift = SLOT_BITS * level;
+            // The slot of a level is visited each time the tick reaches a multiple of the span of the slot
+            long position = (currentTick >>> shift) + 1;
+            int ahead = Long.numberOfTrailingZeros(Long.rotateRight(occupied[level], (int) position & SLOT_MASK));
+            next = Math.min(next, (position + ahead) << shift);
+        }
+        return next;
+    }
+
+    /**
+     * Gets the amount of keys scheduled.
+     *
+     * @return The size of the wheel.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Discards every scheduled key.
+     */
+    public void clear() {
+        for (int[] level : lengths)
+            Arrays.fill(level, 0);
+        Arrays.fill(occupied, 0);
+        size = 0;
+    }
+
+    /**
+     * Places a key into the slot of its deadline.
+     *
+     * @param deadline The tick the key expires on, not before the current tick.
+     * @param high     The first half of the key.
+     * @param low      The second half of the key.
+     */
+    private void insert(long deadline, long high, long low) {
+        long delay = Math.min(deadline - currentTick, MAX_DELAY);
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= 1L << (SLOT_BITS * (level + 1)))
+            level++;
+        // Distant keys are placed by their clamped deadline but keep their real deadline
+        int slot = (int) ((currentTick + delay) >>> (SLOT_BITS * level)) & SLOT_MASK;
+
+        long[] entries = slots[level][slot];
+        int length = lengths[level][slot];
+        if (entries == null)
+            entries = slots[level][slot] = new long[3 * 4];
+        else if (length + 3 > entries.length)
+            entries = slots[level][slot] = Arrays.copyOf(entries, entries.length * 2);
+        entries[length] = deadline;
+        entries[length + 1] = high;
+        entries[length + 2] = low;
+        lengths[level][slot] = length + 3;
+        occupied[level] |= 1L << slot;
+    }
+
+    /**
+     * Moves the keys of a slot into lower levels.
+     *
+     * @param level The level of the slot.
+     * @param slot  The slot within the level.
+     */
+    private void cascade(int level, int slot) {
+        long[] entries = slots[level][slot];
+        int length = lengths[level][slot];
+        if (length == 0) return;
+        slots[level][slot] = null;
+        lengths[level][slot] = 0;
+        occupied[level] &= ~(1L << slot);
+        for (int i = 0; i < length; i += 3)
+            insert(Math.max(entries[i], currentTick), entries[i + 1], entries[i + 2]);
+    }
+
+    /**
+     * Expires the keys of a slot of the lowest level that are due, keeping keys that were clamped into the slot.
+     *
+     * @param slot   The slot within the lowest level.
+     * @param expiry Ran for each key that expires.
+     */
+    private void expire(int slot, Expiry expiry) {
+        long[] entries = slots[0][slot];
+        int length = lengths[0][slot];
+        if (length == 0) return;
+        slots[0][slot] = null;
+        lengths[0][slot] = 0;
+        occupied[0] &= ~(1L << slot);
+        for (int i = 0; i < length; i += 3) {
+            if (entries[i] > currentTick) {
+                insert(entries[i], entries[i + 1], entries[i + 2]);
+                continue;
+            }
+            size--;
+            expiry.expire(entries[i + 1], entries[i + 2]);
+        }
+    }
+
+    /**
+     * Ran for each key that expires while a {@link TimingWheel} is advanced.
+     */
+    @FunctionalInterface
+    public interface Expiry {
+        /**
+         * Ran when a key expires. The key is able to be scheduled again.
+         *
+         * @param high The first half of the key.
+         * @param low  The second half of the key.
+         */
+        void expire(long high, long low);
+    }
+}
@@ -28,8 +28,8 @@ public class Utils {
      * @return Returns a formatted string with color.
      */
     public static String toColor(String s) {
-        // 1.16+
-        if (XMaterial.NETHERITE_BLOCK.isSupported()) {
+        // 1.16+, only strings containing a hex code are searched
+        if (s.indexOf('#') >= 0 && XMaterial.NETHERITE_BLOCK.isSupported()) {
             Matcher matcher = PATTERN.matcher(s);
             while (matcher.find()) {
                 String hexCode = s.substring(matcher.start(), matcher.end());
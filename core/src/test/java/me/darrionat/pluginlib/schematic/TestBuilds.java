@@ -0,0 +1,215 @@
+package me.darrionat.pluginlib.schematic;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.block.data.BlockData;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Generates random {@link Clipboard}s for tests, backed by a fake {@link Server} that creates {@link BlockData}.
+ * <p>
+ * The fakes are plain proxies rather than mocks, so that throughput and allocation measurements are dominated by the
+ * code under test. Block data is interned by its string, so two blocks with the same data are always the same instance
+ * and can be compared by identity, as a palette would.
+ */
+public final class TestBuilds {
+    /**
+     * The materials blocks are drawn from. Air is always the first entry of a palette.
+     */
+    private static final Material[] MATERIALS = {Material.STONE, Material.DIRT, Material.COBBLESTONE,
+            Material.OAK_PLANKS, Material.GLASS, Material.SAND, Material.GRAVEL, Material.BRICKS, Material.OAK_LOG,
+            Material.WHITE_WOOL};
+    private static final Map<String, BlockData> BLOCK_DATA = new ConcurrentHashMap<>();
+
+    private TestBuilds() {
+    }
+
+    /**
+     * Installs a fake server that is able to create block data, if no server is installed yet. Every other method of
+     * the server returns {@code null}, {@code 0} or {@code false}.
+     */
+    public static synchronized void installServer() {
+        if (Bukkit.getServer() != null) return;
+        Logger logger = Logger.getLogger("TestServer");
+        Server server = (Server) Proxy.newProxyInstance(Server.class.getClassLoader(), new Class<?>[]{Server.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getLogger" -> logger;
+                    case "getName" -> "TestServer";
+                    case "getVersion" -> "git-Spigot (MC: 1.21.5)";
+                    case "getBukkitVersion" -> "1.21.5-R0.1-SNAPSHOT";
+                    case "createBlockData" -> createBlockData(args);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "TestServer";
+                    default -> defaultValue(method.getReturnType());
+                });
+        Bukkit.setServer(server);
+    }
+
+    /**
+     * Creates block data as {@link Server#createBlockData(String)} and {@link Server#createBlockData(Material,
+     * String)} would.
+     *
+     * @param args The arguments the server was called with.
+     * @return The block data.
+     */
+    private static BlockData createBlockData(Object[] args) {
+        if (args.length == 1 && args[0] instanceof String data)
+            return blockData(data);
+        if (args.length == 2 && args[0] instanceof Material material && args[1] instanceof String data)
+            return blockData(data.startsWith("[") ? key(material) + data : data);
+        throw new UnsupportedOperationException("The test server cannot create this block data");
+    }
+
+    /**
+     * Gets the block data of a string such as {@code minecraft:oak_log[variant=3]}.
+     *
+     * @param data The string of the block data.
+     * @return The interned block data.
+     * @throws IllegalArgumentException Thrown when the material of the data is unknown, as a server would.
+     */
+    public static BlockData blockData(String data) {
+        BlockData existing = BLOCK_DATA.get(data);
+        if (existing != null)
+            return existing;
+        int start = data.indexOf(':') + 1;
+        int end = data.indexOf('[');
+        String name = data.substring(start, end == -1 ? data.length() : end).toUpperCase(Locale.ROOT);
+        Material material = name.isEmpty() ? null : Material.getMaterial(name);
+        if (material == null)
+            throw new IllegalArgumentException("Unknown block data " + data);
+        return BLOCK_DATA.computeIfAbsent(data, key -> (BlockData) Proxy.newProxyInstance(
+                BlockData.class.getClassLoader(), new Class<?>[]{BlockData.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getMaterial" -> material;
+                    case "getAsString", "toString" -> key;
+                    // Interned data is immutable, so it is its own clone
+                    case "clone" -> proxy;
+                    case "matches", "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }));
+    }
+
+    /**
+     * Creates a palette of block data whose first entry is air.
+     *
+     * @param size The amount of entries, at least {@code 1}.
+     * @return The palette.
+     */
+    public static BlockData[] palette(int size) {
+        BlockData[] palette = new BlockData[size];
+        palette[0] = blockData("minecraft:air");
+        for (int i = 1; i < size; i++)
+            palette[i] = blockData(key(MATERIALS[i % MATERIALS.length]) + "[variant=" + i + "]");
+        return palette;
+    }
+
+    /**
+     * Creates random palette indices of a build. Blocks often repeat the block below or behind them, as blocks of real
+     * builds do, so that codecs see both runs and literals.
+     *
+     * @param random      The source of randomness.
+     * @param length      The length of the build.
+     * @param height      The height of the build.
+     * @param width       The width of the build.
+     * @param paletteSize The amount of palette entries, where {@code 0} is air.
+     * @param airRatio    The chance of each new block being air.
+     * @return The palette indices, indexed by {@code (x * height + y) * width + z}.
+     */
+    public static int[] randomIndices(Random random, int length, int height, int width, int paletteSize,
+                                      double airRatio) {
+        int[] indices = new int[length * height * width];
+        for (int i = 0; i < indices.length; i++) {
+            double roll = random.nextDouble();
+            if (i >= width && roll < 0.4)
+                indices[i] = indices[i - width];
+            else if (i % width != 0 && roll < 0.6)
+                indices[i] = indices[i - 1];
+            else if (paletteSize == 1 || random.nextDouble() < airRatio)
+                indices[i] = 0;
+            else
+                indices[i] = 1 + random.nextInt(paletteSize - 1);
+        }
+        return indices;
+    }
+
+    /**
+     * Creates a random clipboard.
+     *
+     * @param random      The source of randomness.
+     * @param length      The length of the clipboard.
+     * @param height      The height of the clipboard.
+     * @param width       The width of the clipboard.
+     * @param paletteSize The amount of distinct blocks the clipboard may contain, including air.
+     * @param airRatio    The chance of each new block being air.
+     * @return The clipboard.
+     */
+    public static Clipboard randomClipboard(Random random, int length, int height, int width, int paletteSize,
+                                            double airRatio) {
+        BlockData[] palette = palette(paletteSize);
+        int[] indices = randomIndices(random, length, height, width, paletteSize, airRatio);
+        BlockData[][][] blocks = new BlockData[length][height][width];
+        int i = 0;
+        for (int x = 0; x < length; x++)
+            for (int y = 0; y < height; y++)
+                for (int z = 0; z < width; z++)
+                    blocks[x][y][z] = palette[indices[i++]];
+        return new Clipboard(blocks);
+    }
+
+    /**
+     * Asserts that two clipboards have the same dimensions and the same block at every position.
+     *
+     * @param expected The expected clipboard.
+     * @param actual   The clipboard to check.
+     */
+    public static void assertSameBlocks(Clipboard expected, Clipboard actual) {
+        assertEquals(expected.getLength(), actual.getLength(), "length");
+        assertEquals(expected.getHeight(), actual.getHeight(), "height");
+        assertEquals(expected.getWidth(), actual.getWidth(), "width");
+        for (int x = 0; x < expected.getLength(); x++)
+            for (int y = 0; y < expected.getHeight(); y++)
+                for (int z = 0; z < expected.getWidth(); z++)
+                    assertSame(expected.getBlock(x, y, z), actual.getBlock(x, y, z),
+                            "block at " + x + ", " + y + ", " + z);
+    }
+
+    /**
+     * Gets the amount of bytes allocated by the current thread so far.
+     *
+     * @return The allocated bytes; {@code -1} if the JVM does not measure allocations.
+     */
+    public static long allocatedBytes() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)
+                || !bean.isThreadAllocatedMemorySupported() || !bean.isThreadAllocatedMemoryEnabled())
+            return -1;
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class)
+            return false;
+        if (type == char.class)
+            return '\0';
+        if (type.isPrimitive() && type != void.class)
+            return type == long.class ? 0L : type == double.class ? 0.0 : type == float.class ? 0f
+                    : type == byte.class ? (byte) 0 : type == short.class ? (short) 0 : 0;
+        return null;
+    }
+
+    private static String key(Material material) {
+        return "minecraft:" + material.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,129 @@
+package me.darrionat.pluginlib.schematic.files;
+
+import me.darrionat.pluginlib.schematic.Clipboard;
+import me.darrionat.pluginlib.schematic.TestBuilds;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Round-trip, allocation and throughput tests of {@link BuildSerializer}, using block data of a fake server. The
+ * throughput test depends on the machine, so it only runs within the {@code benchmark} profile.
+ */
+class BuildSerializerTest {
+    /**
+     * The minimum amount of blocks converted to text and parsed back each second.
+     */
+    private static final double MIN_BLOCKS_PER_SECOND = 250_000;
+    /**
+     * The maximum amount of bytes allocated per block while converting a build to text and parsing it back.
+     */
+    private static final double MAX_BYTES_PER_BLOCK = 4_096;
+
+    @BeforeAll
+    static void installServer() {
+        TestBuilds.installServer();
+    }
+
+    @Test
+    void roundTripsRandomBuilds() {
+        Random random = new Random(40);
+        for (int trial = 0; trial < 200; trial++) {
+            int length = 1 + random.nextInt(10), height = 1 + random.nextInt(10), width = 1 + random.nextInt(10);
+            Clipboard build = TestBuilds.randomClipboard(random, length, height, width, 1 + random.nextInt(60),
+                    random.nextDouble());
+            TestBuilds.assertSameBlocks(build, BuildSerializer.parseBuild(BuildSerializer.buildToString(build)));
+        }
+    }
+
+    @Test
+    void roundTripsViews() {
+        Random random = new Random(41);
+        Clipboard build = TestBuilds.randomClipboard(random, 12, 9, 7, 20, 0.5);
+        for (int trial = 0; trial < 100; trial++) {
+            int x = random.nextInt(12), y = random.nextInt(9), z = random.nextInt(7);
+            Clipboard view = build.subRegion(x, y, z, 1 + random.nextInt(12 - x), 1 + random.nextInt(9 - y),
+                    1 + random.nextInt(7 - z));
+            TestBuilds.assertSameBlocks(view, BuildSerializer.parseBuild(BuildSerializer.buildToString(view)));
+        }
+
+        // Surround a build with air, which trimming removes again
+        Clipboard padded = TestBuilds.randomClipboard(random, 8, 6, 4, 1, 0);
+        Clipboard inner = TestBuilds.randomClipboard(random, 4, 2, 2, 12, 0);
+        for (int x = 0; x < 4; x++)
+            for (int y = 0; y < 2; y++)
+                System.arraycopy(inner.getBlocks()[x][y], 0, padded.getBlocks()[x + 2][y + 3], 1, 2);
+        Clipboard trimmed = padded.trimAir();
+        assertNotNull(trimmed);
+        assertTrue(trimmed.isView());
+        TestBuilds.assertSameBlocks(trimmed, BuildSerializer.parseBuild(BuildSerializer.buildToString(trimmed)));
+    }
+
+    @Test
+    void keepsNonCubicDimensions() {
+        Clipboard build = TestBuilds.randomClipboard(new Random(42), 2, 5, 3, 6, 0.3);
+        String data = BuildSerializer.buildToString(build);
+        assertTrue(data.startsWith("dim=2x5x3\n"), data);
+
+        Clipboard parsed = BuildSerializer.parseBuild(data);
+        assertEquals(2, parsed.getLength());
+        assertEquals(5, parsed.getHeight());
+        assertEquals(3, parsed.getWidth());
+        TestBuilds.assertSameBlocks(build, parsed);
+    }
+
+    @Test
+    void rejectsMismatchedDimensions() {
+        String data = BuildSerializer.buildToString(TestBuilds.randomClipboard(new Random(43), 2, 5, 3, 6, 0.3));
+        String blocks = data.substring(data.indexOf('\n'));
+        for (String dimensions : new String[]{"dim=3x5x3", "dim=1x5x3", "dim=2x4x3", "dim=2x6x3", "dim=2x5x2",
+                "dim=2x5x4"})
+            assertThrows(IllegalArgumentException.class, () -> BuildSerializer.parseBuild(dimensions + blocks),
+                    dimensions);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void meetsMinimumThroughput() {
+        Clipboard build = TestBuilds.randomClipboard(new Random(44), 48, 32, 40, 24, 0.6);
+        int volume = build.getLength() * build.getHeight() * build.getWidth();
+        // Warm up the JIT before measuring
+        for (int i = 0; i < 5; i++)
+            BuildSerializer.parseBuild(BuildSerializer.buildToString(build));
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            BuildSerializer.parseBuild(BuildSerializer.buildToString(build));
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double blocksPerSecond = volume / (best / 1e9);
+        assertTrue(blocksPerSecond >= MIN_BLOCKS_PER_SECOND,
+                String.format("Serialized and parsed %.0f blocks/s, expected at least %.0f", blocksPerSecond,
+                        MIN_BLOCKS_PER_SECOND));
+    }
+
+    @Test
+    void staysWithinAllocationBudget() {
+        assumeTrue(TestBuilds.allocatedBytes() != -1, "The JVM does not measure allocations");
+        Clipboard build = TestBuilds.randomClipboard(new Random(45), 48, 32, 40, 24, 0.6);
+        int volume = build.getLength() * build.getHeight() * build.getWidth();
+        for (int i = 0; i < 3; i++)
+            BuildSerializer.parseBuild(BuildSerializer.buildToString(build));
+
+        long before = TestBuilds.allocatedBytes();
+        BuildSerializer.parseBuild(BuildSerializer.buildToString(build));
+        double bytesPerBlock = (double) (TestBuilds.allocatedBytes() - before) / volume;
+        assertTrue(bytesPerBlock <= MAX_BYTES_PER_BLOCK,
+                String.format("Serializing and parsing allocated %.0f bytes/block, expected at most %.0f",
+                        bytesPerBlock, MAX_BYTES_PER_BLOCK));
+    }
+}
@@ -0,0 +1,176 @@
+package me.darrionat.pluginlib.schematic.files;
+
+import me.darrionat.pluginlib.schematic.Clipboard;
+import me.darrionat.pluginlib.schematic.TestBuilds;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Round-trip, fuzz, allocation and throughput tests of every {@link BuildCodec} of the {@link CompressionHandler}, using
+ * block data of a fake server. The throughput test depends on the machine, so it only runs within the {@code benchmark}
+ * profile.
+ */
+class CompressionHandlerTest {
+    /**
+     * The length of the header of predictive files, which is the magic number followed by the codec.
+     */
+    private static final int PREDICTIVE_HEADER = 4;
+    /**
+     * The minimum amount of blocks saved and loaded each second, by the codec.
+     */
+    private static final double[] MIN_BLOCKS_PER_SECOND = {200_000, 500_000};
+    /**
+     * The maximum amount of bytes allocated per block while saving and loading, by the codec.
+     */
+    private static final double[] MAX_BYTES_PER_BLOCK = {4_096, 256};
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void installServer() {
+        TestBuilds.installServer();
+    }
+
+    @Test
+    void roundTripsEveryCodec() throws IOException {
+        Random random = new Random(50);
+        File file = directory.resolve("build.dat").toFile();
+        for (BuildCodec codec : BuildCodec.values()) {
+            for (int trial = 0; trial < 60; trial++) {
+                int length = 1 + random.nextInt(12), height = 1 + random.nextInt(12), width = 1 + random.nextInt(12);
+                Clipboard build = TestBuilds.randomClipboard(random, length, height, width, 1 + random.nextInt(80),
+                        random.nextDouble());
+                // Views are saved as the region they show
+                if (trial % 3 == 0 && length > 1)
+                    build = build.subRegion(1, 0, 0, length - 1, height, width);
+                CompressionHandler.saveCompressedBuild(build, file, codec);
+                TestBuilds.assertSameBlocks(build, CompressionHandler.loadCompressedBuild(file));
+            }
+        }
+    }
+
+    @Test
+    void savesTextByDefault() throws IOException {
+        Clipboard build = TestBuilds.randomClipboard(new Random(51), 3, 7, 2, 9, 0.4);
+        File file = directory.resolve("build.dat").toFile();
+        CompressionHandler.saveCompressedBuild(build, file);
+        byte[] data = Files.readAllBytes(file.toPath());
+        // GZIP magic number
+        assertEquals(0x1F, data[0] & 0xFF);
+        assertEquals(0x8B, data[1] & 0xFF);
+        TestBuilds.assertSameBlocks(build, CompressionHandler.loadCompressedBuild(file));
+    }
+
+    @Test
+    void rejectsCorruptedPredictiveFiles() throws IOException {
+        Random random = new Random(52);
+        File file = directory.resolve("build.dat").toFile();
+        for (int trial = 0; trial < 1000; trial++) {
+            Clipboard build = TestBuilds.randomClipboard(random, 1 + random.nextInt(6), 1 + random.nextInt(6),
+                    1 + random.nextInt(6), 1 + random.nextInt(20), random.nextDouble());
+            CompressionHandler.saveCompressedBuild(build, file, BuildCodec.PREDICTIVE);
+            byte[] data = Files.readAllBytes(file.toPath());
+            // Only corrupt the compressed body, as a bad header is simply not a build file
+            byte[] corrupted = switch (trial % 3) {
+                case 0 -> Arrays.copyOf(data, PREDICTIVE_HEADER + random.nextInt(data.length - PREDICTIVE_HEADER));
+                case 1 -> {
+                    byte[] copy = data.clone();
+                    for (int flips = 1 + random.nextInt(4); flips > 0; flips--) {
+                        int i = PREDICTIVE_HEADER + random.nextInt(copy.length - PREDICTIVE_HEADER);
+                        copy[i] ^= (byte) (1 << random.nextInt(8));
+                    }
+                    yield copy;
+                }
+                default -> {
+                    byte[] noise = Arrays.copyOf(data, PREDICTIVE_HEADER + random.nextInt(64));
+                    for (int i = PREDICTIVE_HEADER; i < noise.length; i++)
+                        noise[i] = (byte) random.nextInt(256);
+                    yield noise;
+                }
+            };
+            Files.write(file.toPath(), corrupted);
+            assertLoadsSafely(file, "trial " + trial);
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void meetsMinimumThroughput() throws IOException {
+        Clipboard build = TestBuilds.randomClipboard(new Random(53), 48, 32, 40, 24, 0.6);
+        int volume = build.getLength() * build.getHeight() * build.getWidth();
+        File file = directory.resolve("build.dat").toFile();
+        for (BuildCodec codec : BuildCodec.values()) {
+            // Warm up the JIT before measuring
+            for (int i = 0; i < 5; i++)
+                roundTrip(build, file, codec);
+
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < 5; i++) {
+                long start = System.nanoTime();
+                roundTrip(build, file, codec);
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            double blocksPerSecond = volume / (best / 1e9);
+            double minimum = MIN_BLOCKS_PER_SECOND[codec.ordinal()];
+            assertTrue(blocksPerSecond >= minimum, String.format("%s saved and loaded %.0f blocks/s, expected at least"
+                    + " %.0f", codec, blocksPerSecond, minimum));
+        }
+    }
+
+    @Test
+    void staysWithinAllocationBudget() throws IOException {
+        assumeTrue(TestBuilds.allocatedBytes() != -1, "The JVM does not measure allocations");
+        Clipboard build = TestBuilds.randomClipboard(new Random(54), 48, 32, 40, 24, 0.6);
+        int volume = build.getLength() * build.getHeight() * build.getWidth();
+        File file = directory.resolve("build.dat").toFile();
+        for (BuildCodec codec : BuildCodec.values()) {
+            for (int i = 0; i < 3; i++)
+                roundTrip(build, file, codec);
+
+            long before = TestBuilds.allocatedBytes();
+            roundTrip(build, file, codec);
+            double bytesPerBlock = (double) (TestBuilds.allocatedBytes() - before) / volume;
+            double maximum = MAX_BYTES_PER_BLOCK[codec.ordinal()];
+            assertTrue(bytesPerBlock <= maximum, String.format("%s allocated %.0f bytes/block, expected at most %.0f",
+                    codec, bytesPerBlock, maximum));
+        }
+    }
+
+    private static void assertLoadsSafely(File file, String message) {
+        Clipboard loaded;
+        try {
+            loaded = CompressionHandler.loadCompressedBuild(file);
+        } catch (IOException e) {
+            return;
+        } catch (RuntimeException e) {
+            fail(message + " threw " + e, e);
+            return;
+        }
+        // Corruption that still loads must produce a complete build
+        for (int x = 0; x < loaded.getLength(); x++)
+            for (int y = 0; y < loaded.getHeight(); y++)
+                for (int z = 0; z < loaded.getWidth(); z++)
+                    if (loaded.getBlock(x, y, z) == null)
+                        fail(message + " loaded no block at " + x + ", " + y + ", " + z);
+    }
+
+    private static void roundTrip(Clipboard build, File file, BuildCodec codec) throws IOException {
+        CompressionHandler.saveCompressedBuild(build, file, codec);
+        CompressionHandler.loadCompressedBuild(file);
+    }
+}
@@ -0,0 +1,189 @@
+package me.darrionat.pluginlib.schematic.files;
+
+import me.darrionat.pluginlib.schematic.TestBuilds;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Round-trip, fuzz, allocation and throughput tests of {@link PredictiveCodec}, which only works on palette indices and
+ * needs no server. The throughput test depends on the machine, so it only runs within the {@code benchmark} profile.
+ */
+class PredictiveCodecTest {
+    /**
+     * The minimum amount of blocks encoded and decoded each second.
+     */
+    private static final double MIN_BLOCKS_PER_SECOND = 5_000_000;
+    /**
+     * The maximum amount of bytes allocated per block while decoding, which includes the decoded indices.
+     */
+    private static final double MAX_DECODE_BYTES_PER_BLOCK = 5;
+    /**
+     * The maximum amount of bytes allocated per block while encoding into a presized buffer.
+     */
+    private static final double MAX_ENCODE_BYTES_PER_BLOCK = 0.5;
+
+    @Test
+    void roundTripsRandomBuilds() throws IOException {
+        Random random = new Random(30);
+        for (int trial = 0; trial < 500; trial++) {
+            int length = 1 + random.nextInt(24), height = 1 + random.nextInt(24), width = 1 + random.nextInt(24);
+            int paletteSize = 1 + random.nextInt(random.nextBoolean() ? 8 : 600);
+            double airRatio = random.nextDouble();
+            int[] indices = TestBuilds.randomIndices(random, length, height, width, paletteSize, airRatio);
+            assertRoundTrip(indices, length, height, width, paletteSize,
+                    "trial " + trial + " (" + length + "x" + height + "x" + width + ", palette " + paletteSize
+                            + ", air " + airRatio + ")");
+        }
+    }
+
+    @Test
+    void roundTripsEdgeShapes() throws IOException {
+        int[][] shapes = {{1, 1, 1}, {1, 1, 37}, {37, 1, 1}, {1, 37, 1}, {2, 3, 5}, {5, 3, 2}, {64, 2, 1}};
+        Random random = new Random(31);
+        for (int[] shape : shapes) {
+            int volume = shape[0] * shape[1] * shape[2];
+            String name = Arrays.toString(shape);
+            // Entirely air
+            assertRoundTrip(new int[volume], shape[0], shape[1], shape[2], 1, name + " air");
+            // Every block distinct, so nothing is predictable
+            int[] distinct = new int[volume];
+            for (int i = 0; i < volume; i++)
+                distinct[i] = i;
+            assertRoundTrip(distinct, shape[0], shape[1], shape[2], volume, name + " distinct");
+            // Noise without any correlation
+            int[] noise = new int[volume];
+            for (int i = 0; i < volume; i++)
+                noise[i] = random.nextInt(4);
+            assertRoundTrip(noise, shape[0], shape[1], shape[2], 4, name + " noise");
+        }
+    }
+
+    @Test
+    void rejectsCorruptedData() throws IOException {
+        Random random = new Random(32);
+        for (int trial = 0; trial < 3000; trial++) {
+            int length = 1 + random.nextInt(8), height = 1 + random.nextInt(8), width = 1 + random.nextInt(8);
+            int paletteSize = 1 + random.nextInt(40);
+            int[] indices = TestBuilds.randomIndices(random, length, height, width, paletteSize, random.nextDouble());
+            byte[] data = encode(indices, height, width);
+            byte[] corrupted = switch (trial % 3) {
+                case 0 -> Arrays.copyOf(data, random.nextInt(data.length + 1));
+                case 1 -> {
+                    byte[] copy = data.clone();
+                    for (int flips = 1 + random.nextInt(4); flips > 0; flips--)
+                        copy[random.nextInt(copy.length)] ^= (byte) (1 << random.nextInt(8));
+                    yield copy;
+                }
+                default -> {
+                    byte[] noise = new byte[random.nextInt(64)];
+                    random.nextBytes(noise);
+                    yield noise;
+                }
+            };
+            assertDecodesSafely(corrupted, length, height, width, paletteSize, "trial " + trial);
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void meetsMinimumThroughput() throws IOException {
+        int length = 96, height = 64, width = 80, paletteSize = 24;
+        int[] indices = TestBuilds.randomIndices(new Random(33), length, height, width, paletteSize, 0.6);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(indices.length);
+        // Warm up the JIT before measuring
+        for (int i = 0; i < 10; i++)
+            roundTrip(indices, length, height, width, paletteSize, bytes);
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            long start = System.nanoTime();
+            roundTrip(indices, length, height, width, paletteSize, bytes);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double blocksPerSecond = indices.length / (best / 1e9);
+        assertTrue(blocksPerSecond >= MIN_BLOCKS_PER_SECOND,
+                String.format("Encoded and decoded %.0f blocks/s, expected at least %.0f", blocksPerSecond,
+                        MIN_BLOCKS_PER_SECOND));
+    }
+
+    @Test
+    void staysWithinAllocationBudget() throws IOException {
+        assumeTrue(TestBuilds.allocatedBytes() != -1, "The JVM does not measure allocations");
+        int length = 96, height = 64, width = 80, paletteSize = 24;
+        int[] indices = TestBuilds.randomIndices(new Random(34), length, height, width, paletteSize, 0.6);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(indices.length * 2);
+        for (int i = 0; i < 5; i++)
+            roundTrip(indices, length, height, width, paletteSize, bytes);
+
+        bytes.reset();
+        DataOutputStream out = new DataOutputStream(bytes);
+        long before = TestBuilds.allocatedBytes();
+        PredictiveCodec.write(out, indices, height, width);
+        double encodeBytes = (double) (TestBuilds.allocatedBytes() - before) / indices.length;
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        before = TestBuilds.allocatedBytes();
+        PredictiveCodec.read(in, length, height, width, paletteSize);
+        double decodeBytes = (double) (TestBuilds.allocatedBytes() - before) / indices.length;
+
+        assertTrue(encodeBytes <= MAX_ENCODE_BYTES_PER_BLOCK,
+                String.format("Encoding allocated %.2f bytes/block, expected at most %.2f", encodeBytes,
+                        MAX_ENCODE_BYTES_PER_BLOCK));
+        assertTrue(decodeBytes <= MAX_DECODE_BYTES_PER_BLOCK,
+                String.format("Decoding allocated %.2f bytes/block, expected at most %.2f", decodeBytes,
+                        MAX_DECODE_BYTES_PER_BLOCK));
+    }
+
+    private static void assertRoundTrip(int[] indices, int length, int height, int width, int paletteSize,
+                                        String message) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(encode(indices, height, width)));
+        assertArrayEquals(indices, PredictiveCodec.read(in, length, height, width, paletteSize), message);
+        assertEquals(-1, in.read(), message + " left data unread");
+    }
+
+    private static void assertDecodesSafely(byte[] data, int length, int height, int width, int paletteSize,
+                                            String message) {
+        int[] decoded;
+        try {
+            decoded = PredictiveCodec.read(new DataInputStream(new ByteArrayInputStream(data)), length, height, width,
+                    paletteSize);
+        } catch (IOException e) {
+            return;
+        } catch (RuntimeException e) {
+            fail(message + " threw " + e, e);
+            return;
+        }
+        // Corruption that still decodes must produce a valid build
+        assertEquals(length * height * width, decoded.length, message);
+        for (int index : decoded)
+            assertTrue(index >= 0 && index < paletteSize, message + " decoded palette index " + index);
+    }
+
+    private static byte[] encode(int[] indices, int height, int width) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PredictiveCodec.write(new DataOutputStream(bytes), indices, height, width);
+        return bytes.toByteArray();
+    }
+
+    private static void roundTrip(int[] indices, int length, int height, int width, int paletteSize,
+                                  ByteArrayOutputStream bytes) throws IOException {
+        bytes.reset();
+        PredictiveCodec.write(new DataOutputStream(bytes), indices, height, width);
+        PredictiveCodec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), length, height,
+                width, paletteSize);
+    }
+}